@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import org.apache.sling.api.SlingJakartaHttpServletRequest;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.models.impl.via.ResourceTypeForcingResourceWrapper;
+
+/**
+ * Normalizes adaptables to the key under which their cached models are stored.
+ * <p>
+ * A cache key consists of an owner and a scope. The owner is the object the cache is attached to (the request via
+ * its attributes, otherwise the adaptable itself) and the scope distinguishes adaptables which share the same owner
+ * but must not share models.
+ * <ul>
+ * <li>Requests (including all wrappers, as they share the request attributes) are scoped by the path and type of
+ * their resource. Therefore the short-lived wrappers created by {@code createModelFromWrappedRequest} or the via
+ * providers hit the cache for the same underlying resource.</li>
+ * <li>Resources wrapped by {@link ResourceTypeForcingResourceWrapper} are owned by the wrapped resource and scoped by
+ * the forced resource type.</li>
+ * <li>Any other adaptable is its own owner with the default scope.</li>
+ * </ul>
+ */
+final class AdaptableCacheKey {
+
+    /**
+     * Scope used for adaptables which are not further distinguished.
+     */
+    static final Object DEFAULT_SCOPE = "";
+
+    private AdaptableCacheKey() {
+        // static methods only
+    }
+
+    /**
+     * @param adaptable the adaptable
+     * @return the object the cache for the given non-request adaptable is attached to
+     */
+    static Object getOwner(Object adaptable) {
+        Object owner = adaptable;
+        while (owner instanceof ResourceTypeForcingResourceWrapper wrapper) {
+            owner = wrapper.getResource();
+        }
+        return owner;
+    }
+
+    /**
+     * @param adaptable the adaptable
+     * @return the scope within the owner's cache, never {@code null}
+     */
+    @SuppressWarnings("deprecation")
+    static Object getScope(Object adaptable) {
+        if (adaptable instanceof SlingJakartaHttpServletRequest jakartaRequest) {
+            return toResourceScope(jakartaRequest.getResource());
+        } else if (adaptable instanceof org.apache.sling.api.SlingHttpServletRequest javaxRequest) {
+            return toResourceScope(javaxRequest.getResource());
+        } else if (adaptable instanceof ResourceTypeForcingResourceWrapper wrapper) {
+            String resourceType = wrapper.getResourceType();
+            return resourceType != null ? resourceType : DEFAULT_SCOPE;
+        }
+        return DEFAULT_SCOPE;
+    }
+
+    private static Object toResourceScope(Resource resource) {
+        if (resource == null) {
+            return DEFAULT_SCOPE;
+        }
+        return new ResourceScope(resource.getPath(), resource.getResourceType());
+    }
+
+    private record ResourceScope(String path, String resourceType) {}
+}
@@ -20,9 +20,10 @@ package org.apache.sling.models.impl;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentNavigableMap;
@@ -36,6 +37,7 @@ import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.models.impl.model.ModelClass;
 import org.apache.sling.models.spi.ImplementationPicker;
 import org.apache.sling.models.spi.injectorspecific.StaticInjectAnnotationProcessorFactory;
+import org.jetbrains.annotations.Nullable;
 import org.osgi.framework.Bundle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,6 +65,10 @@ final class AdapterImplementations {
     private volatile StaticInjectAnnotationProcessorFactory[] sortedStaticInjectAnnotationProcessorFactories =
             new StaticInjectAnnotationProcessorFactory[0];
 
+    private volatile ModelCachePolicy[] cachePolicies = new ModelCachePolicy[0];
+
+    private volatile boolean lazyMetadata;
+
     public StaticInjectAnnotationProcessorFactory[] getStaticInjectAnnotationProcessorFactories() {
         return sortedStaticInjectAnnotationProcessorFactories;
     }
@@ -76,23 +82,52 @@ final class AdapterImplementations {
 
     /**
      * Updates all {@link ModelClass} instances with updates list of static inject annotation processor factories.
+     * Model classes registered for multiple adapter types are updated only once, their metadata is updated lazily.
      */
     private void updateProcessorFactoriesInModelClasses() {
-        Iterator<ModelClass<?>> items = modelClasses.values().iterator();
-        updateProcessorFactoriesInModelClasses(items);
-        Iterator<ConcurrentNavigableMap<String, ModelClass<?>>> mapItems =
-                adapterImplementations.values().iterator();
-        while (mapItems.hasNext()) {
-            ConcurrentNavigableMap<String, ModelClass<?>> mapItem = mapItems.next();
-            updateProcessorFactoriesInModelClasses(mapItem.values().iterator());
+        StaticInjectAnnotationProcessorFactory[] factories = sortedStaticInjectAnnotationProcessorFactories;
+        for (ModelClass<?> item : getModelClasses()) {
+            item.updateProcessorFactories(factories);
         }
     }
 
-    private void updateProcessorFactoriesInModelClasses(Iterator<ModelClass<?>> items) {
-        while (items.hasNext()) {
-            ModelClass<?> item = items.next();
-            item.updateProcessorFactories(sortedStaticInjectAnnotationProcessorFactories);
+    /**
+     * @return all registered model classes, each contained only once even if registered for multiple adapter types
+     */
+    Set<ModelClass<?>> getModelClasses() {
+        Set<ModelClass<?>> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        result.addAll(modelClasses.values());
+        adapterImplementations.values().forEach(map -> result.addAll(map.values()));
+        return result;
+    }
+
+    /**
+     * Sets the cache policies and applies them to all registered {@link ModelClass} instances.
+     * @param policies Cache policies
+     */
+    public void setCachePolicies(Collection<ModelCachePolicy> policies) {
+        this.cachePolicies = policies.toArray(new ModelCachePolicy[policies.size()]);
+        modelClasses.values().forEach(this::applyCachePolicy);
+        adapterImplementations.values().forEach(map -> map.values().forEach(this::applyCachePolicy));
+    }
+
+    /**
+     * Applies the most specific cache policy matching the model implementation class, or resets the cache policy to
+     * the one defined by the model annotation if there is none.
+     * @param modelClass Model class
+     */
+    private void applyCachePolicy(ModelClass<?> modelClass) {
+        String className = modelClass.getType().getName();
+        ModelCachePolicy bestMatch = null;
+        int bestSpecificity = ModelCachePolicy.NO_MATCH;
+        for (ModelCachePolicy policy : cachePolicies) {
+            int specificity = policy.getSpecificity(className);
+            if (specificity > bestSpecificity) {
+                bestMatch = policy;
+                bestSpecificity = specificity;
+            }
         }
+        modelClass.updateCachePolicy(bestMatch != null ? bestMatch.getCachePolicy(modelClass) : null);
     }
 
     /** Add implementation mapping for the given model class (implementation is the model class itself).
@@ -111,17 +146,51 @@ final class AdapterImplementations {
      * @param adapterTypes Adapter types
      * @result true if adapters were successfully added
      */
-    @SuppressWarnings("unchecked")
     boolean addAll(Class<?> implType, Class<?>... adapterTypes) {
-        ModelClass<?> modelClass = null;
+        ModelClass<?> modelClass = createModelClass(implType);
+        if (modelClass == null) {
+            return false;
+        }
+        addAll(modelClass, adapterTypes);
+        return true;
+    }
+
+    /**
+     * @param lazyMetadata {@code true} to defer reflecting on the members of model classes registered afterwards until
+     *     their first adaptation
+     */
+    public void setLazyMetadata(boolean lazyMetadata) {
+        this.lazyMetadata = lazyMetadata;
+    }
+
+    /**
+     * Reflects on the given implementation type without registering it, this may be done concurrently.
+     * @param implType Implementation type
+     * @return the model class or {@code null} if the implementation type cannot be reflected on
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Nullable
+    ModelClass<?> createModelClass(Class<?> implType) {
         try {
-            modelClass = new ModelClass(implType, sortedStaticInjectAnnotationProcessorFactories);
+            return new ModelClass(implType, sortedStaticInjectAnnotationProcessorFactories, lazyMetadata);
         } catch (Exception e) {
             log.warn("Unable to reflect on " + implType.getName(), e);
-            return false;
+            return null;
         } catch (NoClassDefFoundError e) {
             log.warn("Unable to reflect on " + implType.getName(), e);
-            return false;
+            return null;
+        }
+    }
+
+    /**
+     * Add implementation mapping for the given adapter types.
+     * @param modelClass Model class as created by {@link #createModelClass(Class)}
+     * @param adapterTypes Adapter types
+     */
+    void addAll(ModelClass<?> modelClass, Class<?>... adapterTypes) {
+        Class<?> implType = modelClass.getType();
+        if (cachePolicies.length > 0) {
+            applyCachePolicy(modelClass);
         }
 
         for (Class<?> adapterType : adapterTypes) {
@@ -143,7 +212,6 @@ final class AdapterImplementations {
                 }
             }
         }
-        return true;
     }
 
     /**
@@ -314,13 +382,19 @@ final class AdapterImplementations {
         return getModelClassForResource(resource, resourceTypeMappingsForResources);
     }
 
-    protected static Class<?> getModelClassForResource(final Resource resource, final Map<String, Class<?>> map) {
+    /**
+     * Looks up the value registered for the resource type of the given resource or one of its super types.
+     * @param resource the resource
+     * @param map the values by resource type
+     * @return the value or {@code null}
+     */
+    protected static <T> T getModelClassForResource(final Resource resource, final Map<String, T> map) {
         if (resource == null) {
             return null;
         }
         ResourceResolver resolver = resource.getResourceResolver();
         final String originalResourceType = resource.getResourceType();
-        Class<?> modelClass = getClassFromResourceTypeMap(originalResourceType, map, resolver);
+        T modelClass = getClassFromResourceTypeMap(originalResourceType, map, resolver);
         if (modelClass != null) {
             return modelClass;
         } else {
@@ -342,12 +416,12 @@ final class AdapterImplementations {
         }
     }
 
-    private static Class<?> getClassFromResourceTypeMap(
-            final String resourceType, final Map<String, Class<?>> map, final ResourceResolver resolver) {
+    private static <T> T getClassFromResourceTypeMap(
+            final String resourceType, final Map<String, T> map, final ResourceResolver resolver) {
         if (resourceType == null) {
             return null;
         }
-        Class<?> modelClass = map.get(resourceType);
+        T modelClass = map.get(resourceType);
         if (modelClass == null) {
             for (String searchPath : resolver.getSearchPath()) {
                 if (resourceType.startsWith("/")) {
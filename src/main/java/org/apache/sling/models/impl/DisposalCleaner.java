@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.lang.ref.Cleaner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Calls the disposal callbacks of models which are not bound to a request as soon as the model became phantom
+ * reachable. The callbacks are executed by a dedicated daemon thread which is blocked until a model gets collected.
+ * Once closed, the callbacks of models which have not been collected yet are discarded, as the services they release
+ * may already be gone.
+ * The implementation is thread-safe.
+ */
+final class DisposalCleaner {
+
+    private static final Logger log = LoggerFactory.getLogger(DisposalCleaner.class);
+
+    private final Cleaner cleaner;
+
+    private final Set<DisposeAction> pending = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder disposed = new LongAdder();
+
+    private final LongAdder totalCallbackNanos = new LongAdder();
+
+    private final LongAccumulator maxCallbackNanos = new LongAccumulator(Math::max, 0);
+
+    private volatile boolean closed;
+
+    DisposalCleaner() {
+        this.cleaner = Cleaner.create(runnable -> new Thread(runnable, "Sling Models Disposal"));
+    }
+
+    /**
+     * Registers the disposal callbacks to be called once the given model is phantom reachable.
+     * @param model the model (or the invocation handler of an interface model)
+     * @param registry the registry holding the disposal callbacks
+     * @return the cleanable, which runs the callbacks when cleaned explicitly
+     */
+    Cleaner.Cleanable register(Object model, DisposalCallbackRegistryImpl registry) {
+        DisposeAction action = new DisposeAction(this, registry);
+        pending.add(action);
+        action.cleanable = cleaner.register(model, action);
+        if (closed) {
+            // closed concurrently, discard the callbacks
+            action.cleanable.clean();
+        }
+        return action.cleanable;
+    }
+
+    /**
+     * Discards the callbacks of all models which have not been collected yet and unregisters them from the cleaner.
+     */
+    void close() {
+        closed = true;
+        for (DisposeAction action : pending) {
+            Cleaner.Cleanable cleanable = action.cleanable;
+            if (cleanable != null) {
+                cleanable.clean();
+            }
+        }
+    }
+
+    /**
+     * @return the number of registries whose model is not yet collected or whose callbacks did not run yet
+     */
+    long getPending() {
+        return pending.size();
+    }
+
+    /**
+     * @return the number of registries whose callbacks were called
+     */
+    long getDisposed() {
+        return disposed.sum();
+    }
+
+    /**
+     * @return the average time in microseconds spent in the disposal callbacks of a single model, not including the
+     *     time between the collection of the model and the call
+     */
+    long getAverageCallbackMicros() {
+        long count = disposed.sum();
+        return count > 0 ? TimeUnit.NANOSECONDS.toMicros(totalCallbackNanos.sum() / count) : 0;
+    }
+
+    /**
+     * @return the maximum time in microseconds spent in the disposal callbacks of a single model
+     */
+    long getMaxCallbackMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(maxCallbackNanos.get());
+    }
+
+    private void dispose(DisposeAction action) {
+        if (!pending.remove(action) || closed) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            action.registry.onDisposed();
+        } catch (RuntimeException e) {
+            log.warn("Exception while calling disposal callbacks", e);
+        } finally {
+            long duration = System.nanoTime() - start;
+            disposed.increment();
+            totalCallbackNanos.add(duration);
+            maxCallbackNanos.accumulate(duration);
+        }
+    }
+
+    /**
+     * Cleaning action, must not reference the model.
+     */
+    private static final class DisposeAction implements Runnable {
+
+        private final DisposalCleaner cleaner;
+        private final DisposalCallbackRegistryImpl registry;
+        private volatile Cleaner.Cleanable cleanable;
+
+        DisposeAction(DisposalCleaner cleaner, DisposalCallbackRegistryImpl registry) {
+            this.cleaner = cleaner;
+            this.registry = registry;
+        }
+
+        @Override
+        public void run() {
+            cleaner.dispose(this);
+        }
+    }
+}
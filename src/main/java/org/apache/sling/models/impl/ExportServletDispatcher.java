@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Dictionary;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.sling.api.SlingJakartaHttpServletRequest;
+import org.apache.sling.api.SlingJakartaHttpServletResponse;
+import org.apache.sling.api.servlets.SlingJakartaSafeMethodsServlet;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
+
+/**
+ * Registers a single servlet per exporter selector and extension instead of one {@link ExportServlet} per resource
+ * type. Each dispatching servlet is registered for the resource types of all its exporters and delegates to the
+ * {@link ExportServlet} of the resource type of the requested resource, looked up the same way as the models bound to
+ * resource types. If multiple exporters are registered for the same resource type, selector and extension the first
+ * registered one is used.
+ * <p>
+ * The exporters of a bundle are added and published at once, so that the servlet resolver is notified only once per
+ * bundle and servlet. The registration properties {@code sling.models.exporter.servlet.class} and
+ * {@code sling.models.exporter.servlet.name} list the model class and exporter name of each resource type at the same
+ * index as in {@code sling.servlet.resourceTypes}. The implementation is thread-safe.
+ */
+final class ExportServletDispatcher {
+
+    /**
+     * An exporter of a model bound to a resource type.
+     * @param annotatedClass the model class
+     * @param resourceType the resource type
+     * @param selector the selector
+     * @param extensions the extensions
+     * @param exporterName the name of the exporter
+     * @param servlet the servlet exporting the model
+     */
+    record Export(
+            Class<?> annotatedClass,
+            String resourceType,
+            String selector,
+            String[] extensions,
+            String exporterName,
+            ExportServlet servlet) {}
+
+    private record Key(String selector, String extension) {}
+
+    private record Target(
+            long bundleId, String resourceType, String modelClassName, String exporterName, ExportServlet servlet) {}
+
+    private final BundleContext bundleContext;
+
+    private final Map<Key, DispatchingServlet> servlets = new HashMap<>();
+
+    ExportServletDispatcher(BundleContext bundleContext) {
+        this.bundleContext = bundleContext;
+    }
+
+    /**
+     * Adds the exporters of a bundle and publishes the changes.
+     * @param bundle the bundle containing the models
+     * @param exports the exporters
+     */
+    synchronized void addAll(Bundle bundle, List<Export> exports) {
+        for (Export export : exports) {
+            for (String extension : export.extensions()) {
+                servlets.computeIfAbsent(new Key(export.selector(), extension), DispatchingServlet::new)
+                        .add(new Target(
+                                bundle.getBundleId(),
+                                export.resourceType(),
+                                export.annotatedClass().getName(),
+                                export.exporterName(),
+                                export.servlet()));
+            }
+        }
+        publish();
+    }
+
+    /**
+     * Removes all exporters of the given bundle and publishes the changes.
+     * @param bundle the bundle
+     */
+    synchronized void remove(Bundle bundle) {
+        for (DispatchingServlet servlet : servlets.values()) {
+            servlet.remove(bundle.getBundleId());
+        }
+        publish();
+    }
+
+    /**
+     * Registers, updates or unregisters the dispatching servlets affected by changes since the last call.
+     */
+    private void publish() {
+        Iterator<DispatchingServlet> iterator = servlets.values().iterator();
+        while (iterator.hasNext()) {
+            DispatchingServlet servlet = iterator.next();
+            servlet.publish();
+            if (servlet.registration == null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Unregisters all dispatching servlets.
+     */
+    synchronized void close() {
+        for (DispatchingServlet servlet : servlets.values()) {
+            servlet.remove(null);
+            servlet.publish();
+        }
+        servlets.clear();
+    }
+
+    @SuppressWarnings("serial")
+    private final class DispatchingServlet extends SlingJakartaSafeMethodsServlet {
+
+        private final Key key;
+
+        /**
+         * All targets in registration order, guarded by the dispatcher.
+         */
+        private final List<Target> targets = new ArrayList<>();
+
+        private boolean modified;
+
+        private ServiceRegistration<Servlet> registration;
+
+        private volatile Map<String, ExportServlet> servletsByResourceType = Map.of();
+
+        private DispatchingServlet(Key key) {
+            this.key = key;
+        }
+
+        private void add(Target target) {
+            targets.add(target);
+            modified = true;
+        }
+
+        /**
+         * @param bundleId the bundle id, {@code null} to remove all targets
+         */
+        private void remove(Long bundleId) {
+            if (targets.removeIf(target -> bundleId == null || target.bundleId() == bundleId)) {
+                modified = true;
+            }
+        }
+
+        private void publish() {
+            if (!modified) {
+                return;
+            }
+            modified = false;
+            // the first registered target of a resource type wins
+            Map<String, Target> byResourceType = new LinkedHashMap<>();
+            for (Target target : targets) {
+                byResourceType.putIfAbsent(target.resourceType(), target);
+            }
+            Map<String, ExportServlet> servletsByType = new LinkedHashMap<>();
+            List<String> modelClassNames = new ArrayList<>();
+            List<String> exporterNames = new ArrayList<>();
+            for (Target target : byResourceType.values()) {
+                servletsByType.put(target.resourceType(), target.servlet());
+                modelClassNames.add(target.modelClassName());
+                exporterNames.add(target.exporterName());
+            }
+            servletsByResourceType = servletsByType;
+            if (byResourceType.isEmpty()) {
+                if (registration != null) {
+                    registration.unregister();
+                    registration = null;
+                }
+                return;
+            }
+            Dictionary<String, Object> registrationProps = new Hashtable<>();
+            registrationProps.put(
+                    "sling.servlet.resourceTypes", byResourceType.keySet().toArray(new String[0]));
+            registrationProps.put("sling.servlet.selectors", key.selector());
+            registrationProps.put("sling.servlet.extensions", key.extension());
+            registrationProps.put(
+                    ModelPackageBundleListener.PROP_EXPORTER_SERVLET_CLASS, modelClassNames.toArray(new String[0]));
+            registrationProps.put(
+                    ModelPackageBundleListener.PROP_EXPORTER_SERVLET_NAME, exporterNames.toArray(new String[0]));
+            if (registration == null) {
+                registration = bundleContext.registerService(Servlet.class, this, registrationProps);
+            } else {
+                registration.setProperties(registrationProps);
+            }
+        }
+
+        @Override
+        protected void doGet(SlingJakartaHttpServletRequest request, SlingJakartaHttpServletResponse response)
+                throws ServletException, IOException {
+            ExportServlet servlet =
+                    AdapterImplementations.getModelClassForResource(request.getResource(), servletsByResourceType);
+            if (servlet == null) {
+                // the exporter has been removed concurrently
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            servlet.doGet(request, response);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Makes the creation of cached models single-flight per cache scope and model type: while one thread creates a model,
+ * concurrent callers for the same cache scope and model type wait for and reuse its result.
+ * <p>
+ * A thread never waits while it is itself creating a model (i.e. during recursive adaptations), therefore waiting
+ * threads never hold a creation another thread could wait for, which rules out deadlocks between creations. In addition
+ * the waiting time is bounded by a timeout after which the caller creates the model on its own.
+ * The implementation is thread-safe.
+ */
+final class InFlightModelCreations {
+
+    private static final Logger log = LoggerFactory.getLogger(InFlightModelCreations.class);
+
+    private final ConcurrentMap<Key, CompletableFuture<Result<?>>> inFlight = new ConcurrentHashMap<>();
+
+    private final ThreadLocal<int[]> ownedCreations = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final long timeoutMillis;
+
+    /**
+     * @param timeoutMillis the maximum time to wait for a concurrent creation, a value &lt;= 0 disables waiting
+     */
+    InFlightModelCreations(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Executes the given creation unless the same creation is already in progress on another thread, in which case
+     * its result is returned.
+     * @param scope the cache scope, compared by identity
+     * @param type the model type
+     * @param creation the creation to execute
+     * @return the result of the creation
+     */
+    @SuppressWarnings("unchecked")
+    <ModelType> Result<ModelType> execute(Object scope, Class<?> type, Supplier<Result<ModelType>> creation) {
+        if (timeoutMillis <= 0) {
+            return creation.get();
+        }
+        final int[] owned = ownedCreations.get();
+        final Key key = new Key(scope, type);
+        final CompletableFuture<Result<?>> future = new CompletableFuture<>();
+        final CompletableFuture<Result<?>> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            if (owned[0] > 0) {
+                // never block while creations started by this thread are pending
+                return creation.get();
+            }
+            return (Result<ModelType>) await(existing, creation);
+        }
+        owned[0]++;
+        try {
+            Result<ModelType> result = creation.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            owned[0]--;
+            inFlight.remove(key, future);
+        }
+    }
+
+    private Result<?> await(CompletableFuture<Result<?>> existing, Supplier<? extends Result<?>> creation) {
+        try {
+            return existing.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.debug("Concurrent model creation failed, creating model again.", e.getCause());
+        } catch (TimeoutException e) {
+            log.debug("Timeout while waiting for concurrent model creation, creating model again.");
+        }
+        return creation.get();
+    }
+
+    /**
+     * Key comparing the cache scope by identity, as the scope is a mutable map.
+     */
+    private static final class Key {
+
+        private final Object scope;
+        private final Class<?> type;
+
+        private Key(Object scope, Class<?> type) {
+            this.scope = scope;
+            this.type = type;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(scope) + type.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key other && scope == other.scope && type == other.type;
+        }
+    }
+}
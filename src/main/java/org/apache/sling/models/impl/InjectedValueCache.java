@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.sling.api.SlingJakartaHttpServletRequest;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.servlets.HttpConstants;
+import org.apache.sling.models.spi.Injector;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Caches values of {@link org.apache.sling.models.impl.injectors.CacheableValueInjector}s across models. Values are
+ * only cached per request for request adaptables, keyed by the identity of the request, its cache scope (the path and
+ * type of its current resource), the injector, the name and the type. As persisted changes cannot be observed within
+ * a request, only GET and HEAD requests whose resolver has no pending changes are considered. Values injected from
+ * other adaptables, e.g. resources, are never cached.
+ * <p>
+ * Only immutable values, arrays and lists thereof are cached. Arrays and lists are copied when taken from the cache,
+ * so that models cannot modify the values injected into other models. The implementation is thread-safe.
+ */
+final class InjectedValueCache {
+
+    private static final String ATTRIBUTE_NAME = InjectedValueCache.class.getName();
+
+    private static final Object NULL = new Object();
+
+    private final int maxEntries;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxEntries the maximum number of cached values per request
+     */
+    InjectedValueCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @param adaptable the injection adaptable
+     * @param injector the injector
+     * @param name the injection name
+     * @param type the injection type
+     * @param injection retrieves the value from the injector
+     * @return the cached or injected value
+     */
+    @Nullable
+    Object getValue(Object adaptable, Injector injector, String name, Type type, Supplier<Object> injection) {
+        final Map<Key, Object> values = getValues(adaptable);
+        if (values == null) {
+            return injection.get();
+        }
+        final Key key = new Key(adaptable, AdaptableCacheKey.getScope(adaptable), injector, name, type);
+        Object cached;
+        synchronized (values) {
+            cached = values.get(key);
+        }
+        if (cached != null) {
+            hits.increment();
+            return cached == NULL ? null : copy(cached);
+        }
+        misses.increment();
+        final Object value = injection.get();
+        if (value == null || isCacheable(value)) {
+            synchronized (values) {
+                values.put(key, value == null ? NULL : copy(value));
+            }
+        }
+        return value;
+    }
+
+    long getHits() {
+        return hits.sum();
+    }
+
+    long getMisses() {
+        return misses.sum();
+    }
+
+    @SuppressWarnings({"unchecked", "deprecation"})
+    private @Nullable Map<Key, Object> getValues(final Object adaptable) {
+        if (adaptable instanceof SlingJakartaHttpServletRequest jakartaRequest) {
+            if (!isReadOnly(jakartaRequest.getMethod(), jakartaRequest.getResourceResolver())) {
+                return null;
+            }
+            synchronized (jakartaRequest) {
+                Object values = jakartaRequest.getAttribute(ATTRIBUTE_NAME);
+                if (values == null) {
+                    values = new Values(maxEntries);
+                    jakartaRequest.setAttribute(ATTRIBUTE_NAME, values);
+                }
+                return (Map<Key, Object>) values;
+            }
+        } else if (adaptable instanceof org.apache.sling.api.SlingHttpServletRequest javaxRequest) {
+            if (!isReadOnly(javaxRequest.getMethod(), javaxRequest.getResourceResolver())) {
+                return null;
+            }
+            synchronized (javaxRequest) {
+                Object values = javaxRequest.getAttribute(ATTRIBUTE_NAME);
+                if (values == null) {
+                    values = new Values(maxEntries);
+                    javaxRequest.setAttribute(ATTRIBUTE_NAME, values);
+                }
+                return (Map<Key, Object>) values;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Values are only cached for requests which are not expected to modify resources, as commits and refreshes of the
+     * request's resolver cannot be observed.
+     */
+    private static boolean isReadOnly(final String method, final @Nullable ResourceResolver resolver) {
+        return (HttpConstants.METHOD_GET.equals(method) || HttpConstants.METHOD_HEAD.equals(method))
+                && (resolver == null || !resolver.hasChanges());
+    }
+
+    private static boolean isCacheable(final Object value) {
+        if (value.getClass().isArray()) {
+            return isImmutableType(value.getClass().getComponentType());
+        } else if (value instanceof List<?> list) {
+            return list.stream().allMatch(element -> element != null && isImmutableType(element.getClass()));
+        }
+        return isImmutableType(value.getClass());
+    }
+
+    private static boolean isImmutableType(final Class<?> type) {
+        return type.isPrimitive()
+                || type == String.class
+                || ClassUtils.isPrimitiveWrapper(type)
+                || type == BigDecimal.class
+                || type == BigInteger.class
+                || type.isEnum();
+    }
+
+    private static Object copy(final Object value) {
+        if (value.getClass().isArray()) {
+            final int length = Array.getLength(value);
+            final Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copy;
+        } else if (value instanceof List<?> list) {
+            return new ArrayList<>(list);
+        }
+        return value;
+    }
+
+    /**
+     * Key comparing the adaptable by identity.
+     */
+    private static final class Key {
+
+        private final Object adaptable;
+        private final Object scope;
+        private final Injector injector;
+        private final String name;
+        private final Type type;
+
+        private Key(Object adaptable, Object scope, Injector injector, String name, Type type) {
+            this.adaptable = adaptable;
+            this.scope = scope;
+            this.injector = injector;
+            this.name = name;
+            this.type = type;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = System.identityHashCode(adaptable);
+            result = 31 * result + scope.hashCode();
+            result = 31 * result + System.identityHashCode(injector);
+            result = 31 * result + (name != null ? name.hashCode() : 0);
+            return 31 * result + type.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key other
+                    && adaptable == other.adaptable
+                    && scope.equals(other.scope)
+                    && injector == other.injector
+                    && (name != null ? name.equals(other.name) : other.name == null)
+                    && type.equals(other.type);
+        }
+    }
+
+    /**
+     * Least recently used values, access needs to be synchronized on the instance.
+     */
+    private static final class Values extends LinkedHashMap<Key, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxEntries;
+
+        private Values(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
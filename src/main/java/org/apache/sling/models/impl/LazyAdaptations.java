@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * Views on injected values which adapt their elements only when they are accessed.
+ */
+final class LazyAdaptations {
+
+    private LazyAdaptations() {
+        // static methods only
+    }
+
+    /**
+     * @param iterable the iterable to adapt the elements of
+     * @param adapter adapts a single element, throws a runtime exception if this is not possible
+     * @return an iterable adapting each element while it is iterated
+     */
+    static Iterable<Object> iterable(Iterable<?> iterable, Function<Object, Object> adapter) {
+        return () -> new AdaptingIterator(iterable.iterator(), adapter);
+    }
+
+    /**
+     * @param list the list to adapt the elements of
+     * @param adapter adapts a single element, throws a runtime exception if this is not possible
+     * @return an unmodifiable list adapting each element on first access and remembering the result
+     */
+    static List<Object> list(List<?> list, Function<Object, Object> adapter) {
+        return new AdaptingList(list, adapter);
+    }
+
+    private static final class AdaptingIterator implements Iterator<Object> {
+
+        private final Iterator<?> delegate;
+        private final Function<Object, Object> adapter;
+
+        AdaptingIterator(Iterator<?> delegate, Function<Object, Object> adapter) {
+            this.delegate = delegate;
+            this.adapter = adapter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return delegate.hasNext();
+        }
+
+        @Override
+        public Object next() {
+            return adapter.apply(delegate.next());
+        }
+    }
+
+    private static final class AdaptingList extends AbstractList<Object> implements RandomAccess {
+
+        private final Object[] values;
+        private final Object[] adapted;
+        private final Function<Object, Object> adapter;
+
+        AdaptingList(List<?> list, Function<Object, Object> adapter) {
+            this.values = list.toArray();
+            this.adapted = new Object[values.length];
+            this.adapter = adapter;
+        }
+
+        @Override
+        public synchronized Object get(int index) {
+            Object value = adapted[index];
+            if (value == null) {
+                value = adapter.apply(values[index]);
+                adapted[index] = value;
+                values[index] = null;
+            }
+            return value;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+}
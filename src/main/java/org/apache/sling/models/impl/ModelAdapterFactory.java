@@ -20,8 +20,7 @@ package org.apache.sling.models.impl;
 
 import javax.annotation.PostConstruct;
 
-import java.lang.ref.PhantomReference;
-import java.lang.ref.ReferenceQueue;
+import java.io.File;
 import java.lang.ref.SoftReference;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
@@ -43,6 +42,9 @@ import java.util.TreeMap;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
 
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletRequestEvent;
@@ -69,7 +71,13 @@ import org.apache.sling.models.factory.ModelClassException;
 import org.apache.sling.models.factory.ModelFactory;
 import org.apache.sling.models.factory.PostConstructException;
 import org.apache.sling.models.factory.ValidationException;
+import org.apache.sling.models.impl.index.PersistentModelIndex;
+import org.apache.sling.models.impl.injectors.CacheableValueInjector;
+import org.apache.sling.models.impl.injectors.ChildResourceInjector;
+import org.apache.sling.models.impl.injectors.LazyServices;
 import org.apache.sling.models.impl.injectors.OSGiServiceInjector;
+import org.apache.sling.models.impl.model.CachePolicy;
+import org.apache.sling.models.impl.model.CacheScope;
 import org.apache.sling.models.impl.model.ConstructorParameter;
 import org.apache.sling.models.impl.model.InjectableElement;
 import org.apache.sling.models.impl.model.InjectableField;
@@ -120,37 +128,28 @@ import org.slf4j.LoggerFactory;
         })
 @Designate(ocd = ModelAdapterFactoryConfiguration.class)
 @SuppressWarnings("deprecation")
-public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFactory, ServletRequestListener {
+public class ModelAdapterFactory implements AdapterFactory, ModelFactory, ServletRequestListener {
 
     // hard code this value since we always know exactly how many there are
     private static final int VALUE_PREPARERS_COUNT = 2;
 
+    /**
+     * Maximum time the automatic warm-up waits for the bundle analysis to complete.
+     */
+    private static final long WARM_UP_MAX_WAIT_MINUTES = 30;
+
+    /**
+     * Maximum time the deactivation waits for an interrupted warm-up to terminate.
+     */
+    private static final long WARM_UP_TERMINATION_TIMEOUT_SECONDS = 30;
+
     private static final String REQUEST_MARKER_ATTRIBUTE = ModelAdapterFactory.class.getName() + ".RealRequest";
 
     private static final String REQUEST_CACHE_ATTRIBUTE = ModelAdapterFactory.class.getName() + ".AdapterCache";
 
     private final Logger log = LoggerFactory.getLogger(ModelAdapterFactory.class);
 
-    private ReferenceQueue<Object> queue;
-
-    private ConcurrentMap<java.lang.ref.Reference<Object>, DisposalCallbackRegistryImpl> disposalCallbacks;
-
-    @Override
-    public void run() {
-        clearDisposalCallbackRegistryQueue();
-    }
-
-    private void clearDisposalCallbackRegistryQueue() {
-        java.lang.ref.Reference<?> ref = queue.poll();
-        while (ref != null) {
-            log.debug("calling disposal for {}.", ref);
-            final DisposalCallbackRegistryImpl registry = disposalCallbacks.remove(ref);
-            if (registry != null) {
-                registry.onDisposed();
-            }
-            ref = queue.poll();
-        }
-    }
+    private DisposalCleaner disposalCleaner;
 
     /** Injectors are sorted by DS according to their service ranking */
     @Reference(
@@ -202,18 +201,40 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
 
     final AdapterImplementations adapterImplementations = new AdapterImplementations();
 
-    private ServiceRegistration jobRegistration;
-
     private ServiceRegistration configPrinterRegistration;
 
+    private final ModelWarmUp warmUp = new ModelWarmUp(adapterImplementations);
+
+    private Thread warmUpThread;
+
+    private ModelUsageProfile usageProfile;
+
     // Use threadlocal to count recursive invocations and break recursing if a max. limit is reached (to avoid cyclic
     // dependencies)
     private ThreadLocal<ThreadInvocationCounter> invocationCountThreadLocal;
 
-    private Map<Object, Map<Class<?>, SoftReference<Object>>> adapterCache;
+    private Map<Object, Map<Object, Map<Class<?>, SoftReference<Object>>>> adapterCache;
 
     private SlingModelsScriptEngineFactory scriptEngineFactory;
 
+    private boolean negativeRequestCacheEnabled;
+
+    private final LongAdder suppressedFailedAdaptations = new LongAdder();
+
+    private InFlightModelCreations inFlightCreations;
+
+    private boolean resolverCacheEnabled;
+
+    private boolean lazyCollectionAdaptationEnabled;
+
+    private volatile ParallelAdaptations parallelAdaptations;
+
+    private volatile String[] parallelAdaptationPatterns = new String[0];
+
+    private volatile InjectedValueCache injectedValueCache;
+
+    private final List<ModelCachePolicy> modelCachePolicies = new ArrayList<>();
+
     @Override
     @SuppressWarnings("null")
     public <AdapterType> AdapterType getAdapter(Object adaptable, Class<AdapterType> type) {
@@ -340,32 +361,56 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
                 + " from adaptable " + adaptable.getClass());
     }
 
+    /**
+     * Returns the cache for the given adaptable. The caches are grouped by the owner and scope determined by
+     * {@link AdaptableCacheKey}, so that different wrappers of the same underlying request or resource share their
+     * cached models. If enabled, models adapted from resources are cached until their resource resolver is closed
+     * instead of globally.
+     * @param adaptable the adaptable
+     * @param cacheScope the cache scope of the model
+     * @return the cache mapping model types to cached instances, {@code null} if the scope does not allow caching
+     *     models adapted from the given adaptable
+     */
     @SuppressWarnings("unchecked")
-    private Map<Class<?>, SoftReference<Object>> getOrCreateCache(final Object adaptable) {
-        Map<Class<?>, SoftReference<Object>> adaptableCache;
+    private @Nullable Map<Class<?>, SoftReference<Object>> getOrCreateCache(
+            final Object adaptable, final CacheScope cacheScope) {
+        Map<Object, Map<Class<?>, SoftReference<Object>>> scopedCaches;
         if (adaptable instanceof ServletRequest jakartaRequest) {
-            adaptableCache =
-                    (Map<Class<?>, SoftReference<Object>>) jakartaRequest.getAttribute(REQUEST_CACHE_ATTRIBUTE);
-            if (adaptableCache == null) {
-                adaptableCache = Collections.synchronizedMap(new WeakHashMap<>());
-                jakartaRequest.setAttribute(REQUEST_CACHE_ATTRIBUTE, adaptableCache);
+            scopedCaches = (Map<Object, Map<Class<?>, SoftReference<Object>>>)
+                    jakartaRequest.getAttribute(REQUEST_CACHE_ATTRIBUTE);
+            if (scopedCaches == null) {
+                scopedCaches = new ConcurrentHashMap<>();
+                jakartaRequest.setAttribute(REQUEST_CACHE_ATTRIBUTE, scopedCaches);
             }
         } else if (adaptable instanceof javax.servlet.ServletRequest javaxRequest) {
-            adaptableCache = (Map<Class<?>, SoftReference<Object>>) javaxRequest.getAttribute(REQUEST_CACHE_ATTRIBUTE);
-            if (adaptableCache == null) {
-                adaptableCache = Collections.synchronizedMap(new WeakHashMap<>());
-                javaxRequest.setAttribute(REQUEST_CACHE_ATTRIBUTE, adaptableCache);
+            scopedCaches = (Map<Object, Map<Class<?>, SoftReference<Object>>>)
+                    javaxRequest.getAttribute(REQUEST_CACHE_ATTRIBUTE);
+            if (scopedCaches == null) {
+                scopedCaches = new ConcurrentHashMap<>();
+                javaxRequest.setAttribute(REQUEST_CACHE_ATTRIBUTE, scopedCaches);
             }
+        } else if (cacheScope == CacheScope.REQUEST) {
+            return null;
         } else {
-            adaptableCache =
-                    adapterCache.computeIfAbsent(adaptable, k -> Collections.synchronizedMap(new WeakHashMap<>()));
+            final Object owner = AdaptableCacheKey.getOwner(adaptable);
+            final boolean useResolverCache =
+                    cacheScope == CacheScope.RESOLVER || (cacheScope == CacheScope.DEFAULT && resolverCacheEnabled);
+            final ResourceResolverModelCache resolverCache =
+                    useResolverCache ? ResourceResolverModelCache.get(adaptable) : null;
+            if (resolverCache != null) {
+                scopedCaches = resolverCache.getScopedCaches(owner);
+            } else if (cacheScope == CacheScope.RESOLVER) {
+                return null;
+            } else {
+                scopedCaches = adapterCache.computeIfAbsent(owner, k -> new ConcurrentHashMap<>());
+            }
         }
-        return adaptableCache;
+        return scopedCaches.computeIfAbsent(
+                AdaptableCacheKey.getScope(adaptable), k -> Collections.synchronizedMap(new WeakHashMap<>()));
     }
 
     @SuppressWarnings("unchecked")
     <ModelType> Result<ModelType> internalCreateModel(final Object adaptable, final Class<ModelType> requestedType) {
-        Result<ModelType> result;
         ThreadInvocationCounter threadInvocationCounter = invocationCountThreadLocal.get();
         if (threadInvocationCounter.isMaximumReached()) {
             String msg = String.format(
@@ -383,70 +428,182 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
                         "Provided Adapter class does not have a Model annotation: %s", modelClass.getType());
                 return new Result<>(new ModelClassException(msg));
             }
-            boolean isAdaptable = false;
-
-            Model modelAnnotation = modelClass.getModelAnnotation();
-            Map<Class<?>, SoftReference<Object>> adaptableCache = null;
-
-            if (modelAnnotation.cache()) {
-                adaptableCache = getOrCreateCache(adaptable);
-                SoftReference<Object> softReference = adaptableCache.get(modelClass.getType());
-                if (softReference != null) {
-                    ModelType cachedObject = (ModelType) softReference.get();
-                    if (cachedObject != null) {
-                        return new Result<>(cachedObject);
-                    }
+
+            final Model modelAnnotation = modelClass.getModelAnnotation();
+            final CachePolicy cachePolicy = modelClass.getCachePolicy();
+            final boolean negativeCaching = negativeRequestCacheEnabled && isRequest(adaptable);
+            final Map<Class<?>, SoftReference<Object>> adaptableCache =
+                    cachePolicy.enabled() || negativeCaching ? getOrCreateCache(adaptable, cachePolicy.scope()) : null;
+            // the cache scope may rule out caching for this adaptable
+            final boolean cached = cachePolicy.enabled() && adaptableCache != null;
+
+            if (adaptableCache != null) {
+                Result<ModelType> cachedResult = getCachedResult(adaptableCache, modelClass.getType());
+                if (cachedResult != null) {
+                    return cachedResult;
                 }
             }
 
-            Class<?>[] declaredAdaptable = LegacyAdaptablesExtender.getAdaptables(modelAnnotation);
-            for (Class<?> clazz : declaredAdaptable) {
-                if (clazz.isInstance(adaptable)) {
-                    isAdaptable = true;
+            if (cached) {
+                // only one thread creates the model for a cache scope at a time, concurrent callers reuse its result
+                return inFlightCreations.execute(adaptableCache, modelClass.getType(), () -> {
+                    Result<ModelType> cachedResult = getCachedResult(adaptableCache, modelClass.getType());
+                    if (cachedResult != null) {
+                        return cachedResult;
+                    }
+                    return createAndCacheModel(
+                            adaptable, modelClass, modelAnnotation, adaptableCache, true, negativeCaching);
+                });
+            }
+            return createAndCacheModel(adaptable, modelClass, modelAnnotation, adaptableCache, false, negativeCaching);
+        } finally {
+            threadInvocationCounter.decrease();
+        }
+    }
+
+    /**
+     * @param adaptableCache the cache for the adaptable
+     * @param type the model type
+     * @return the cached model or the remembered failure, {@code null} if there is no cache entry
+     */
+    @SuppressWarnings("unchecked")
+    private <ModelType> @Nullable Result<ModelType> getCachedResult(
+            final Map<Class<?>, SoftReference<Object>> adaptableCache, final Class<ModelType> type) {
+        SoftReference<Object> softReference = adaptableCache.get(type);
+        if (softReference != null) {
+            Object cachedObject = softReference.get();
+            if (cachedObject instanceof FailedAdaptation failedAdaptation) {
+                suppressedFailedAdaptations.increment();
+                return (Result<ModelType>) failedAdaptation.toResult();
+            } else if (cachedObject != null) {
+                return new Result<>((ModelType) cachedObject);
+            }
+        }
+        return null;
+    }
+
+    private <ModelType> Result<ModelType> createAndCacheModel(
+            final Object adaptable,
+            final ModelClass<ModelType> modelClass,
+            final Model modelAnnotation,
+            final @Nullable Map<Class<?>, SoftReference<Object>> adaptableCache,
+            final boolean cached,
+            final boolean negativeCaching) {
+        final ModelUsageProfile profile = this.usageProfile;
+        if (profile != null) {
+            profile.record(modelClass.getType());
+        }
+        Result<ModelType> result = createModel(adaptable, modelClass, modelAnnotation);
+        if (adaptableCache != null) {
+            if (result.wasSuccessful()) {
+                if (cached) {
+                    adaptableCache.put(modelClass.getType(), new SoftReference<>(result.getValue()));
                 }
+            } else if (negativeCaching && isCacheableFailure(result)) {
+                adaptableCache.put(modelClass.getType(), new SoftReference<>(new FailedAdaptation(result)));
             }
-            if (!isAdaptable) {
-                String msg = String.format(
-                        "Given adaptable (%s) is not acceptable for the model class: %s which only supports adaptables %s",
-                        adaptable.getClass(), modelClass.getType(), StringUtils.join(declaredAdaptable));
-                return new Result<>(new InvalidAdaptableException(msg));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <ModelType> Result<ModelType> createModel(
+            final Object adaptable, final ModelClass<ModelType> modelClass, final Model modelAnnotation) {
+        boolean isAdaptable = false;
+        Class<?>[] declaredAdaptable = LegacyAdaptablesExtender.getAdaptables(modelAnnotation);
+        for (Class<?> clazz : declaredAdaptable) {
+            if (clazz.isInstance(adaptable)) {
+                isAdaptable = true;
+            }
+        }
+        if (!isAdaptable) {
+            String msg = String.format(
+                    "Given adaptable (%s) is not acceptable for the model class: %s which only supports adaptables %s",
+                    adaptable.getClass(), modelClass.getType(), StringUtils.join(declaredAdaptable));
+            return new Result<>(new InvalidAdaptableException(msg));
+        }
+        RuntimeException t = validateModel(adaptable, modelClass.getType(), modelAnnotation);
+        if (t != null) {
+            return new Result<>(t);
+        }
+        // the metadata is fetched once, as it may be rebuilt concurrently if processor factories change
+        final ModelClass.Metadata<ModelType> metadata;
+        try {
+            metadata = modelClass.getMetadata();
+        } catch (ModelClassException e) {
+            return new Result<>(e);
+        }
+        if (modelClass.getType().isInterface()) {
+            Result<InvocationHandler> handlerResult = createInvocationHandler(adaptable, modelClass, metadata);
+            if (handlerResult.wasSuccessful()) {
+                ModelType model = (ModelType) Proxy.newProxyInstance(
+                        modelClass.getType().getClassLoader(),
+                        new Class<?>[] {modelClass.getType()},
+                        handlerResult.getValue());
+                return new Result<>(model);
             } else {
-                RuntimeException t = validateModel(adaptable, modelClass.getType(), modelAnnotation);
-                if (t != null) {
-                    return new Result<>(t);
-                }
-                if (modelClass.getType().isInterface()) {
-                    Result<InvocationHandler> handlerResult = createInvocationHandler(adaptable, modelClass);
-                    if (handlerResult.wasSuccessful()) {
-                        ModelType model = (ModelType) Proxy.newProxyInstance(
-                                modelClass.getType().getClassLoader(),
-                                new Class<?>[] {modelClass.getType()},
-                                handlerResult.getValue());
-
-                        if (modelAnnotation.cache() && adaptableCache != null) {
-                            adaptableCache.put(modelClass.getType(), new SoftReference<>(model));
-                        }
+                return new Result<>(handlerResult.getThrowable());
+            }
+        } else {
+            try {
+                return createObject(adaptable, modelClass, metadata);
+            } catch (Exception e) {
+                String msg = String.format("Unable to create model %s", modelClass.getType());
+                return new Result<>(new ModelClassException(msg, e));
+            }
+        }
+    }
 
-                        result = new Result<>(model);
-                    } else {
-                        return new Result<>(handlerResult.getThrowable());
-                    }
-                } else {
-                    try {
-                        result = createObject(adaptable, modelClass);
+    /**
+     * @param cachePolicy the cache policy of a model created from an adaptable which is no request
+     * @return {@code true} if the model is stored in the cache of the resource resolver
+     */
+    private boolean isResolverCached(final CachePolicy cachePolicy) {
+        return cachePolicy.enabled()
+                && (cachePolicy.scope() == CacheScope.RESOLVER
+                        || (cachePolicy.scope() == CacheScope.DEFAULT && resolverCacheEnabled));
+    }
 
-                        if (result.wasSuccessful() && modelAnnotation.cache() && adaptableCache != null) {
-                            adaptableCache.put(modelClass.getType(), new SoftReference<>(result.getValue()));
-                        }
-                    } catch (Exception e) {
-                        String msg = String.format("Unable to create model %s", modelClass.getType());
-                        return new Result<>(new ModelClassException(msg, e));
-                    }
-                }
+    private static boolean isRequest(Object adaptable) {
+        return adaptable instanceof ServletRequest || adaptable instanceof javax.servlet.ServletRequest;
+    }
+
+    /**
+     * Only failures which are expected to be stable for the lifetime of a request are remembered. Missing elements
+     * are not, as the injected request attributes may still change during the request.
+     * @param result the failed result
+     * @return {@code true} in case the failure may be cached
+     */
+    private static boolean isCacheableFailure(Result<?> result) {
+        return result == Result.POST_CONSTRUCT_PREVENTED_MODEL_CONSTRUCTION
+                || result.getThrowable() instanceof InvalidAdaptableException;
+    }
+
+    /**
+     * Key of a via adaptable memoized during one model creation.
+     */
+    private record ViaKey(Class<? extends ViaProviderType> type, String value) {}
+
+    /**
+     * Marker stored in the request cache for an adaptation which failed before. Only the type and message of the
+     * failure are kept, so that neither its stack trace nor the objects referenced by it are held for the whole
+     * request.
+     */
+    private static final class FailedAdaptation {
+
+        private final boolean postConstructPrevented;
+        private final String message;
+
+        private FailedAdaptation(Result<?> result) {
+            this.postConstructPrevented = result == Result.POST_CONSTRUCT_PREVENTED_MODEL_CONSTRUCTION;
+            this.message = postConstructPrevented ? null : result.getThrowable().getMessage();
+        }
+
+        private Result<?> toResult() {
+            if (postConstructPrevented) {
+                return Result.POST_CONSTRUCT_PREVENTED_MODEL_CONSTRUCTION;
             }
-            return result;
-        } finally {
-            threadInvocationCounter.decrease();
+            return new Result<>(new InvalidAdaptableException(message));
         }
     }
 
@@ -476,45 +633,71 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
     private class SetFieldCallback implements InjectCallback {
 
         private final Object object;
+        private final boolean parallelModel;
+        private final boolean cachedModel;
 
-        private SetFieldCallback(Object object) {
+        private SetFieldCallback(Object object, boolean parallelModel, boolean cachedModel) {
             this.object = object;
+            this.parallelModel = parallelModel;
+            this.cachedModel = cachedModel;
         }
 
         @Override
         public RuntimeException inject(InjectableElement element, Object value) {
-            return setField((InjectableField) element, object, value);
+            return setField((InjectableField) element, object, value, parallelModel, cachedModel);
         }
     }
 
     private class SetMethodsCallback implements InjectCallback {
 
         private final Map<Method, Object> methods;
+        private final boolean parallelModel;
+        private final boolean cachedModel;
 
-        private SetMethodsCallback(Map<Method, Object> methods) {
+        private SetMethodsCallback(Map<Method, Object> methods, boolean parallelModel, boolean cachedModel) {
             this.methods = methods;
+            this.parallelModel = parallelModel;
+            this.cachedModel = cachedModel;
         }
 
         @Override
         public RuntimeException inject(InjectableElement element, Object value) {
-            return setMethod((InjectableMethod) element, methods, value);
+            return setMethod((InjectableMethod) element, methods, value, parallelModel, cachedModel);
         }
     }
 
     private class SetConstructorParameterCallback implements InjectCallback {
 
         private final List<Object> parameterValues;
+        private final boolean parallelModel;
+        private final boolean cachedModel;
 
-        private SetConstructorParameterCallback(List<Object> parameterValues) {
+        private SetConstructorParameterCallback(
+                List<Object> parameterValues, boolean parallelModel, boolean cachedModel) {
             this.parameterValues = parameterValues;
+            this.parallelModel = parallelModel;
+            this.cachedModel = cachedModel;
         }
 
         @Override
         public RuntimeException inject(InjectableElement element, Object value) {
-            return setConstructorParameter((ConstructorParameter) element, parameterValues, value);
+            return setConstructorParameter(
+                    (ConstructorParameter) element, parameterValues, value, parallelModel, cachedModel);
         }
     }
 
+    private boolean isParallelAdaptation(ModelClass<?> modelClass) {
+        return this.parallelAdaptations != null
+                && ModelCachePolicy.getSpecificity(
+                                this.parallelAdaptationPatterns,
+                                modelClass.getType().getName())
+                        != ModelCachePolicy.NO_MATCH;
+    }
+
+    private static boolean isCachedModel(ModelClass<?> modelClass) {
+        return modelClass.getCachePolicy().enabled();
+    }
+
     private class OptionalWrappingCallback implements InjectCallback {
 
         private final InjectCallback chainedCallback;
@@ -539,6 +722,7 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
             final InjectableElement element,
             final Object adaptable,
             final @NotNull DisposalCallbackRegistry registry,
+            final @NotNull ModelCreationMemo memo,
             final InjectCallback callback,
             final @NotNull Map<ValuePreparer, Object> preparedValues,
             final @Nullable BundleContext modelContext) {
@@ -550,17 +734,19 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
                 InjectableElement el = new OptionalTypedInjectableElement(element, pType.getActualTypeArguments()[0]);
                 InjectCallback wrappedCallback = new OptionalWrappingCallback(callback, element);
 
-                return injectElementInternal(el, adaptable, registry, wrappedCallback, preparedValues, modelContext);
+                return injectElementInternal(
+                        el, adaptable, registry, memo, wrappedCallback, preparedValues, modelContext);
             }
         }
 
-        return injectElementInternal(element, adaptable, registry, callback, preparedValues, modelContext);
+        return injectElementInternal(element, adaptable, registry, memo, callback, preparedValues, modelContext);
     }
 
     private @Nullable RuntimeException injectElementInternal(
             final InjectableElement element,
             final Object adaptable,
             final @NotNull DisposalCallbackRegistry registry,
+            final @NotNull ModelCreationMemo memo,
             final InjectCallback callback,
             final @NotNull Map<ValuePreparer, Object> preparedValues,
             final @Nullable BundleContext modelContext) {
@@ -586,7 +772,7 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
         }
 
         String name = getName(element, annotationProcessor);
-        final Object injectionAdaptable = getAdaptable(adaptable, element, annotationProcessor);
+        final Object injectionAdaptable = getAdaptable(adaptable, element, annotationProcessor, memo);
 
         RuntimeException lastInjectionException = null;
         if (injectionAdaptable != null) {
@@ -603,30 +789,36 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
                 }
                 foundSource = true;
                 if (name != null || injector instanceof AcceptsNullName) {
-                    Object preparedValue = injectionAdaptable;
-
-                    // only do the ValuePreparer optimization for the original adaptable
-                    if (injector instanceof ValuePreparer preparer && adaptable == injectionAdaptable) {
-                        Object fromMap = preparedValues.get(preparer);
-                        if (fromMap != null) {
-                            preparedValue = fromMap;
-                        } else {
-                            preparedValue = preparer.prepareValue(injectionAdaptable);
-                            preparedValues.put(preparer, preparedValue);
-                        }
-                    }
-                    Object value = null;
-                    if (injector instanceof OSGiServiceInjector osgiServiceInjector) {
-                        value = osgiServiceInjector.getValue(
-                                preparedValue,
+                    final InjectedValueCache valueCache = this.injectedValueCache;
+                    final String injectionName = name;
+                    final Object value;
+                    if (valueCache != null && injector instanceof CacheableValueInjector) {
+                        value = valueCache.getValue(
+                                injectionAdaptable,
+                                injector,
                                 name,
                                 element.getType(),
-                                element.getAnnotatedElement(),
+                                () -> getInjectedValue(
+                                        injector,
+                                        element,
+                                        adaptable,
+                                        injectionAdaptable,
+                                        injectionName,
+                                        registry,
+                                        memo,
+                                        preparedValues,
+                                        modelContext));
+                    } else {
+                        value = getInjectedValue(
+                                injector,
+                                element,
+                                adaptable,
+                                injectionAdaptable,
+                                name,
                                 registry,
+                                memo,
+                                preparedValues,
                                 modelContext);
-                    } else {
-                        value = injector.getValue(
-                                preparedValue, name, element.getType(), element.getAnnotatedElement(), registry);
                     }
                     if (value != null) {
                         lastInjectionException = callback.inject(element, value);
@@ -696,19 +888,24 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
     }
 
     private <ModelType> Result<InvocationHandler> createInvocationHandler(
-            final Object adaptable, final ModelClass<ModelType> modelClass) {
-        InjectableMethod[] injectableMethods = modelClass.getInjectableMethods();
+            final Object adaptable,
+            final ModelClass<ModelType> modelClass,
+            final ModelClass.Metadata<ModelType> metadata) {
+        InjectableMethod[] injectableMethods = metadata.injectableMethods();
         final Map<Method, Object> methods = new HashMap<>();
-        SetMethodsCallback callback = new SetMethodsCallback(methods);
+        SetMethodsCallback callback =
+                new SetMethodsCallback(methods, isParallelAdaptation(modelClass), isCachedModel(modelClass));
         MapBackedInvocationHandler handler = new MapBackedInvocationHandler(methods);
 
         DisposalCallbackRegistryImpl registry = new DisposalCallbackRegistryImpl();
 
         final Map<ValuePreparer, Object> preparedValues = new HashMap<>(VALUE_PREPARERS_COUNT);
+        final ModelCreationMemo memo = new ModelCreationMemo();
         List<MissingElementException> missingElements = null;
         final BundleContext modelContext = getModelBundleContext(modelClass);
         for (InjectableMethod method : injectableMethods) {
-            RuntimeException t = injectElement(method, adaptable, registry, callback, preparedValues, modelContext);
+            RuntimeException t =
+                    injectElement(method, adaptable, registry, memo, callback, preparedValues, modelContext);
             if (t != null) {
                 if (missingElements == null) {
                     missingElements = new ArrayList<>();
@@ -717,7 +914,7 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
             }
         }
 
-        this.registerCallbackRegistry(registry, adaptable, handler);
+        this.registerCallbackRegistry(registry, adaptable, modelClass, handler);
         if (missingElements != null) {
             MissingElementsException missingElementsException = new MissingElementsException(
                     "Could not create all mandatory methods for interface of model " + modelClass);
@@ -730,17 +927,21 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
     }
 
     @SuppressWarnings("unchecked")
-    private <ModelType> Result<ModelType> createObject(final Object adaptable, final ModelClass<ModelType> modelClass)
+    private <ModelType> Result<ModelType> createObject(
+            final Object adaptable,
+            final ModelClass<ModelType> modelClass,
+            final ModelClass.Metadata<ModelType> metadata)
             throws InstantiationException, InvocationTargetException, IllegalAccessException {
         DisposalCallbackRegistryImpl registry = new DisposalCallbackRegistryImpl();
 
-        ModelClassConstructor<ModelType> constructorToUse = getBestMatchingConstructor(adaptable, modelClass);
+        ModelClassConstructor<ModelType> constructorToUse = getBestMatchingConstructor(adaptable, metadata);
         if (constructorToUse == null) {
             return new Result<>(
                     new ModelClassException("Unable to find a useable constructor for model " + modelClass.getType()));
         }
 
         final Map<ValuePreparer, Object> preparedValues = new HashMap<>(VALUE_PREPARERS_COUNT);
+        final ModelCreationMemo memo = new ModelCreationMemo();
 
         ModelType object;
         if (constructorToUse.getConstructor().getParameterTypes().length == 0) {
@@ -752,7 +953,7 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
             // if this fails, make sure resources that may be claimed by injectors are cleared up again
             try {
                 Result<ModelType> result = newInstanceWithConstructorInjection(
-                        constructorToUse, adaptable, modelClass, registry, preparedValues);
+                        constructorToUse, adaptable, modelClass, registry, memo, preparedValues);
                 if (!result.wasSuccessful()) {
                     registry.onDisposed();
                     return result;
@@ -765,13 +966,15 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
             }
         }
 
-        InjectCallback callback = new SetFieldCallback(object);
+        InjectCallback callback =
+                new SetFieldCallback(object, isParallelAdaptation(modelClass), isCachedModel(modelClass));
 
-        InjectableField[] injectableFields = modelClass.getInjectableFields();
+        InjectableField[] injectableFields = metadata.injectableFields();
         List<MissingElementException> missingElements = null;
         final BundleContext modelContext = getModelBundleContext(modelClass);
         for (InjectableField field : injectableFields) {
-            RuntimeException t = injectElement(field, adaptable, registry, callback, preparedValues, modelContext);
+            RuntimeException t =
+                    injectElement(field, adaptable, registry, memo, callback, preparedValues, modelContext);
             if (t != null) {
                 if (missingElements == null) {
                     missingElements = new ArrayList<>();
@@ -780,7 +983,7 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
             }
         }
 
-        this.registerCallbackRegistry(registry, adaptable, object);
+        this.registerCallbackRegistry(registry, adaptable, modelClass, object);
         if (missingElements != null) {
             MissingElementsException missingElementsException =
                     new MissingElementsException("Could not inject all required fields into " + modelClass.getType());
@@ -807,12 +1010,12 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
     /**
      * Gets best matching constructor for constructor injection - or default constructor if none is found.
      * @param adaptable Adaptable instance
-     * @param type Model type
+     * @param metadata Model metadata
      * @return Constructor or null if none found
      */
     private <ModelType> ModelClassConstructor<ModelType> getBestMatchingConstructor(
-            Object adaptable, ModelClass<ModelType> type) {
-        ModelClassConstructor<ModelType>[] constructors = type.getConstructors();
+            Object adaptable, ModelClass.Metadata<ModelType> metadata) {
+        ModelClassConstructor<ModelType>[] constructors = metadata.constructors();
 
         for (ModelClassConstructor<ModelType> constructor : constructors) {
             // first try to find the constructor with most parameters and @Inject annotation
@@ -846,18 +1049,20 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
             final Object adaptable,
             final ModelClass<ModelType> modelClass,
             final DisposalCallbackRegistry registry,
+            final ModelCreationMemo memo,
             final @NotNull Map<ValuePreparer, Object> preparedValues)
             throws InstantiationException, InvocationTargetException, IllegalAccessException {
         ConstructorParameter[] parameters = constructor.getConstructorParameters();
 
         List<Object> paramValues = new ArrayList<>(Arrays.asList(new Object[parameters.length]));
-        InjectCallback callback = new SetConstructorParameterCallback(paramValues);
+        InjectCallback callback = new SetConstructorParameterCallback(
+                paramValues, isParallelAdaptation(modelClass), isCachedModel(modelClass));
 
         final BundleContext modelContext = getModelBundleContext(modelClass);
         List<MissingElementException> missingElements = null;
         for (int i = 0; i < parameters.length; i++) {
             RuntimeException t =
-                    injectElement(parameters[i], adaptable, registry, callback, preparedValues, modelContext);
+                    injectElement(parameters[i], adaptable, registry, memo, callback, preparedValues, modelContext);
             if (t != null) {
                 if (missingElements == null) {
                     missingElements = new ArrayList<>();
@@ -936,7 +1141,8 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
         }
     }
 
-    private Object getAdaptable(Object adaptable, InjectableElement point, InjectAnnotationProcessor processor) {
+    private Object getAdaptable(
+            Object adaptable, InjectableElement point, InjectAnnotationProcessor processor, ModelCreationMemo memo) {
         String viaValue = null;
         Class<? extends ViaProviderType> viaProviderType = null;
         if (processor != null) {
@@ -955,7 +1161,10 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
             log.error("Unable to find Via provider type {}.", viaProviderType);
             return null;
         }
-        final Object viaResult = viaProvider.getAdaptable(adaptable, viaValue);
+        final String value = viaValue;
+        // share the via adaptable (e.g. a request wrapper) between all injections of this model creation
+        final Object viaResult =
+                memo.memoize(new ViaKey(viaProviderType, value), () -> viaProvider.getAdaptable(adaptable, value));
         if (viaResult == ViaProvider.ORIGINAL) {
             return adaptable;
         } else {
@@ -1016,9 +1225,47 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
         return object;
     }
 
-    private RuntimeException setField(InjectableField injectableField, Object createdObject, Object value) {
-        Result<Object> result =
-                adaptIfNecessary(value, injectableField.getFieldType(), injectableField.getFieldGenericType());
+    private Object getInjectedValue(
+            final Injector injector,
+            final InjectableElement element,
+            final Object adaptable,
+            final Object injectionAdaptable,
+            final String name,
+            final @NotNull DisposalCallbackRegistry registry,
+            final @NotNull ModelCreationMemo memo,
+            final @NotNull Map<ValuePreparer, Object> preparedValues,
+            final @Nullable BundleContext modelContext) {
+        Object preparedValue = injectionAdaptable;
+
+        // only do the ValuePreparer optimization for the original adaptable
+        if (injector instanceof ValuePreparer preparer && adaptable == injectionAdaptable) {
+            Object fromMap = preparedValues.get(preparer);
+            if (fromMap != null) {
+                preparedValue = fromMap;
+            } else {
+                preparedValue = preparer.prepareValue(injectionAdaptable);
+                preparedValues.put(preparer, preparedValue);
+            }
+        }
+        if (injector instanceof OSGiServiceInjector osgiServiceInjector) {
+            return osgiServiceInjector.getValue(
+                    preparedValue, name, element.getType(), element.getAnnotatedElement(), registry, modelContext);
+        } else if (injector instanceof ChildResourceInjector childResourceInjector) {
+            return childResourceInjector.getValue(
+                    preparedValue, name, element.getType(), element.getAnnotatedElement(), registry, memo);
+        } else {
+            return injector.getValue(preparedValue, name, element.getType(), element.getAnnotatedElement(), registry);
+        }
+    }
+
+    private RuntimeException setField(
+            InjectableField injectableField,
+            Object createdObject,
+            Object value,
+            boolean parallel,
+            boolean cachedModel) {
+        Result<Object> result = adaptIfNecessary(
+                value, injectableField.getFieldType(), injectableField.getFieldGenericType(), parallel, cachedModel);
         if (result.wasSuccessful()) {
             return injectableField.set(createdObject, result);
         } else {
@@ -1026,9 +1273,15 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
         }
     }
 
-    private RuntimeException setMethod(InjectableMethod injectableMethod, Map<Method, Object> methods, Object value) {
+    private RuntimeException setMethod(
+            InjectableMethod injectableMethod,
+            Map<Method, Object> methods,
+            Object value,
+            boolean parallel,
+            boolean cachedModel) {
         Method method = injectableMethod.getMethod();
-        Result<Object> result = adaptIfNecessary(value, method.getReturnType(), method.getGenericReturnType());
+        Result<Object> result =
+                adaptIfNecessary(value, method.getReturnType(), method.getGenericReturnType(), parallel, cachedModel);
         if (result.wasSuccessful()) {
             methods.put(method, result.getValue());
             return null;
@@ -1038,10 +1291,18 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
     }
 
     private RuntimeException setConstructorParameter(
-            ConstructorParameter constructorParameter, List<Object> parameterValues, Object value) {
+            ConstructorParameter constructorParameter,
+            List<Object> parameterValues,
+            Object value,
+            boolean parallel,
+            boolean cachedModel) {
         if (constructorParameter.getParameterType() instanceof Class<?>) {
             Result<Object> result = adaptIfNecessary(
-                    value, (Class<?>) constructorParameter.getParameterType(), constructorParameter.getType());
+                    value,
+                    (Class<?>) constructorParameter.getParameterType(),
+                    constructorParameter.getType(),
+                    parallel,
+                    cachedModel);
             if (result.wasSuccessful()) {
                 parameterValues.set(constructorParameter.getParameterIndex(), result.getValue());
                 return null;
@@ -1055,14 +1316,42 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
     }
 
     @SuppressWarnings("null")
-    private Result<Object> adaptIfNecessary(final Object value, final Class<?> type, final Type genericType) {
+    private Result<Object> adaptIfNecessary(
+            final Object value,
+            final Class<?> type,
+            final Type genericType,
+            final boolean parallel,
+            final boolean cachedModel) {
+        if (type == Stream.class && cachedModel) {
+            // a stream can only be consumed once, therefore it must not be shared through a cached model
+            return new Result<>(new ModelClassException("Streams cannot be injected into cached models"));
+        }
         final Object adaptedValue;
+        final Class<?> componentType = getComponentType(genericType);
+        if (componentType != null && componentType != Object.class) {
+            // iterables and streams are evaluated lazily, therefore their elements are adapted on access
+            if (type == Iterable.class && value instanceof Iterable<?> iterable) {
+                return new Result<>(
+                        LazyAdaptations.iterable(iterable, element -> adaptElement(element, componentType)));
+            } else if (type == Stream.class && value instanceof Stream<?> stream) {
+                return new Result<>(stream.map(element -> adaptElement(element, componentType)));
+            }
+        }
         if (!isAcceptableType(type, genericType, value)) {
             if (genericType instanceof ParameterizedType parameterizedType) {
                 if (value instanceof Collection
                         && (type.equals(Collection.class) || type.equals(List.class))
                         && parameterizedType.getActualTypeArguments().length == 1) {
 
+                    if (lazyCollectionAdaptationEnabled && value instanceof List<?> list && componentType != null) {
+                        return new Result<>(
+                                LazyAdaptations.list(list, element -> adaptElement(element, componentType)));
+                    }
+                    final ParallelAdaptations parallelAdaptations = this.parallelAdaptations;
+                    if (parallel && parallelAdaptations != null && ((Collection<?>) value).size() > 1) {
+                        return adaptInParallel(parallelAdaptations, (Collection<?>) value, (Class<?>)
+                                parameterizedType.getActualTypeArguments()[0]);
+                    }
                     List<Object> result = new ArrayList<>();
                     for (Object valueObject : (Collection<?>) value) {
                         Result<Object> singleValueResult =
@@ -1087,6 +1376,50 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
         }
     }
 
+    private Result<Object> adaptInParallel(
+            final ParallelAdaptations parallelAdaptations, final Collection<?> values, final Class<?> componentType) {
+        // the recursion depth is tracked per thread, therefore continue with the depth of the calling thread
+        final int depth = invocationCountThreadLocal.get().getCount();
+        return parallelAdaptations.adaptAll(values.toArray(), valueObject -> {
+            ThreadInvocationCounter counter = invocationCountThreadLocal.get();
+            int previousDepth = counter.getCount();
+            counter.setCount(depth);
+            try {
+                return adapt(valueObject, componentType, true);
+            } finally {
+                counter.setCount(previousDepth);
+            }
+        });
+    }
+
+    private static @Nullable Class<?> getComponentType(final Type genericType) {
+        if (genericType instanceof ParameterizedType parameterizedType
+                && parameterizedType.getActualTypeArguments().length == 1
+                && parameterizedType.getActualTypeArguments()[0] instanceof Class<?> componentType) {
+            return componentType;
+        }
+        return null;
+    }
+
+    /**
+     * Adapts a single element of a lazily adapted sequence.
+     * @param element the element
+     * @param componentType the declared component type
+     * @return the adapted element
+     * @throws ModelClassException if the element cannot be adapted
+     */
+    private Object adaptElement(final Object element, final Class<?> componentType) {
+        if (componentType.isInstance(element)) {
+            return element;
+        }
+        Result<Object> result = adapt(element, componentType, true);
+        if (!result.wasSuccessful()) {
+            throw new ModelClassException(
+                    String.format("Unable to adapt %s to %s", element, componentType.getName()), result.getThrowable());
+        }
+        return result.getValue();
+    }
+
     /**
      * Preferably adapt via the {@link ModelFactory} in case the target type is a Sling Model itself, otherwise use regular {@link Adaptable#adaptTo(Class)}.
      * @param value the object from which to adapt
@@ -1129,7 +1462,9 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
         if (type.isInstance(value)) {
             if ((type == Collection.class || type == List.class)
                     && genericType instanceof ParameterizedType
-                    && value instanceof Collection) {
+                    && value instanceof Collection
+                    // accessing the elements would acquire all services of a lazy list
+                    && !LazyServices.isLazyList(value)) {
                 Iterator<?> it = ((Collection<?>) value).iterator();
                 if (!it.hasNext()) {
                     // empty collection, so it doesn't really matter
@@ -1183,28 +1518,37 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
             }
         };
 
-        this.adapterCache =
-                Collections.synchronizedMap(new WeakHashMap<Object, Map<Class<?>, SoftReference<Object>>>());
+        this.negativeRequestCacheEnabled = configuration.negative_request_cache_enabled();
+        this.inFlightCreations = new InFlightModelCreations(configuration.single_flight_timeout());
+        this.resolverCacheEnabled = configuration.resource_resolver_cache_enabled();
+        this.lazyCollectionAdaptationEnabled = configuration.lazy_collection_adaptation_enabled();
+        if (configuration.injected_value_cache_max_entries() > 0) {
+            this.injectedValueCache = new InjectedValueCache(configuration.injected_value_cache_max_entries());
+        }
+        if (configuration.parallel_adaptation_parallelism() > 0
+                && configuration.parallel_adaptation_model_patterns() != null) {
+            this.parallelAdaptationPatterns = configuration.parallel_adaptation_model_patterns();
+            this.parallelAdaptations = new ParallelAdaptations(configuration.parallel_adaptation_parallelism());
+        }
 
-        BundleContext bundleContext = ctx.getBundleContext();
-        this.queue = new ReferenceQueue<>();
-        this.disposalCallbacks = new ConcurrentHashMap<>();
-        Hashtable<String, Object> properties = new Hashtable<>();
-        properties.put(Constants.SERVICE_VENDOR, "Apache Software Foundation");
-        properties.put(Constants.SERVICE_DESCRIPTION, "Sling Models OSGi Service Disposal Job");
-        properties.put("scheduler.name", "Sling Models OSGi Service Disposal Job");
-        properties.put("scheduler.concurrent", false);
-        properties.put("scheduler.period", configuration.cleanup_job_period());
+        this.adapterCache = Collections.synchronizedMap(
+                new WeakHashMap<Object, Map<Object, Map<Class<?>, SoftReference<Object>>>>());
 
-        this.jobRegistration = bundleContext.registerService(Runnable.class, this, properties);
+        BundleContext bundleContext = ctx.getBundleContext();
+        this.disposalCleaner = new DisposalCleaner();
 
+        this.adapterImplementations.setLazyMetadata(configuration.lazy_model_metadata_enabled());
         this.scriptEngineFactory = new SlingModelsScriptEngineFactory(bundleContext.getBundle());
         this.listener = new ModelPackageBundleListener(
                 ctx.getBundleContext(),
                 this,
                 this.adapterImplementations,
                 bindingsValuesProvidersByContext,
-                scriptEngineFactory);
+                scriptEngineFactory,
+                configuration.bundle_analysis_threads(),
+                createPersistentModelIndex(bundleContext, configuration),
+                configuration.consolidated_adapter_factories_enabled(),
+                configuration.dispatching_export_servlets_enabled());
 
         Hashtable<String, Object> printerProps = new Hashtable<>();
         printerProps.put(Constants.SERVICE_VENDOR, "Apache Software Foundation");
@@ -1215,18 +1559,90 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
 
         this.configPrinterRegistration = bundleContext.registerService(
                 Object.class, new ModelConfigurationPrinter(this, bundleContext, adapterImplementations), printerProps);
+
+        this.usageProfile = createUsageProfile(bundleContext, configuration);
+        this.warmUp.setUsageProfile(usageProfile);
+        if (configuration.warm_up_after_bundle_analysis_enabled()) {
+            startWarmUp(configuration.warm_up_hot_models_only());
+        }
+    }
+
+    /**
+     * Warms up the models in the background once the bundles tracked at activation have been analyzed.
+     */
+    private void startWarmUp(boolean hotModelsOnly) {
+        final ModelPackageBundleListener bundleListener = this.listener;
+        this.warmUpThread = new Thread(
+                () -> {
+                    try {
+                        if (bundleListener.awaitAnalyses(WARM_UP_MAX_WAIT_MINUTES, TimeUnit.MINUTES)) {
+                            warmUp.warmUp(hotModelsOnly);
+                        } else {
+                            log.warn("Bundle analysis did not complete in time, skipping model warm-up.");
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                },
+                "sling-models-warm-up");
+        this.warmUpThread.setDaemon(true);
+        this.warmUpThread.start();
+    }
+
+    private PersistentModelIndex createPersistentModelIndex(
+            BundleContext bundleContext, ModelAdapterFactoryConfiguration configuration) {
+        if (!configuration.persistent_model_index_enabled()) {
+            return null;
+        }
+        File directory = bundleContext.getDataFile("model-index");
+        if (directory == null) {
+            log.warn("Persistent model index is enabled, but the framework does not provide a data area.");
+            return null;
+        }
+        return new PersistentModelIndex(directory);
+    }
+
+    private ModelUsageProfile createUsageProfile(
+            BundleContext bundleContext, ModelAdapterFactoryConfiguration configuration) {
+        if (!configuration.usage_profile_enabled()) {
+            return null;
+        }
+        File file = bundleContext.getDataFile("model-usage-profile.txt");
+        if (file == null) {
+            log.warn("Model usage profile is enabled, but the framework does not provide a data area.");
+            return null;
+        }
+        ModelUsageProfile profile = new ModelUsageProfile(file, configuration.usage_profile_max_entries());
+        profile.start(configuration.usage_profile_persist_interval());
+        return profile;
     }
 
     @Deactivate
     protected void deactivate() {
         this.adapterCache = null;
-        this.clearDisposalCallbackRegistryQueue();
+        if (disposalCleaner != null) {
+            disposalCleaner.close();
+        }
+        if (parallelAdaptations != null) {
+            parallelAdaptations.close();
+            parallelAdaptations = null;
+        }
+        if (warmUpThread != null) {
+            warmUpThread.interrupt();
+            try {
+                warmUpThread.join(TimeUnit.SECONDS.toMillis(WARM_UP_TERMINATION_TIMEOUT_SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            warmUpThread = null;
+        }
+        if (usageProfile != null) {
+            warmUp.setUsageProfile(null);
+            usageProfile.close();
+            usageProfile = null;
+        }
         this.listener.unregisterAll();
         this.adapterImplementations.removeAll();
-        if (jobRegistration != null) {
-            jobRegistration.unregister();
-            jobRegistration = null;
-        }
         if (configPrinterRegistration != null) {
             configPrinterRegistration.unregister();
             configPrinterRegistration = null;
@@ -1258,6 +1674,21 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
         }
     }
 
+    @Reference(name = "modelCachePolicy", cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
+    protected void bindModelCachePolicy(final ModelCachePolicy policy) {
+        synchronized (modelCachePolicies) {
+            modelCachePolicies.add(policy);
+            this.adapterImplementations.setCachePolicies(modelCachePolicies);
+        }
+    }
+
+    protected void unbindModelCachePolicy(final ModelCachePolicy policy) {
+        synchronized (modelCachePolicies) {
+            modelCachePolicies.remove(policy);
+            this.adapterImplementations.setCachePolicies(modelCachePolicies);
+        }
+    }
+
     @Reference(name = "viaProvider", cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
     protected void bindViaProvider(final ViaProvider viaProvider, final Map<String, Object> props) {
         Class<? extends ViaProviderType> type = viaProvider.getType();
@@ -1301,6 +1732,31 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
         return viaProviders;
     }
 
+    @Nullable
+    InjectedValueCache getInjectedValueCache() {
+        return injectedValueCache;
+    }
+
+    ModelWarmUp getWarmUp() {
+        return warmUp;
+    }
+
+    @Nullable
+    ModelUsageProfile getUsageProfile() {
+        return usageProfile;
+    }
+
+    DisposalCleaner getDisposalCleaner() {
+        return disposalCleaner;
+    }
+
+    /**
+     * @return the number of adaptations which were answered from the negative request cache
+     */
+    long getSuppressedFailedAdaptations() {
+        return suppressedFailedAdaptations.sum();
+    }
+
     /**
      * @deprecated use {@link #isModelAvailableForRequest(SlingJakartaHttpServletRequest)} instead
      */
@@ -1475,7 +1931,10 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
 
     @SuppressWarnings("unchecked")
     private void registerCallbackRegistry(
-            final DisposalCallbackRegistryImpl registry, final Object adaptable, final Object handler) {
+            final DisposalCallbackRegistryImpl registry,
+            final Object adaptable,
+            final ModelClass<?> modelClass,
+            final Object handler) {
         if (!registry.callbacks.isEmpty()) {
             registry.seal();
 
@@ -1489,10 +1948,13 @@ public class ModelAdapterFactory implements AdapterFactory, Runnable, ModelFacto
             if (list instanceof List) {
                 ((List<DisposalCallbackRegistryImpl>) list).add(registry);
                 registered = true;
+            } else if (isResolverCached(modelClass.getCachePolicy())) {
+                // the resolver cache holds the model until the resolver is closed
+                ResourceResolverModelCache resolverCache = ResourceResolverModelCache.get(adaptable);
+                registered = resolverCache != null && resolverCache.addDisposalCallbackRegistry(registry);
             }
             if (!registered) {
-                PhantomReference<Object> reference = new PhantomReference<>(handler, queue);
-                disposalCallbacks.put(reference, registry);
+                disposalCleaner.register(handler, registry);
             }
         }
     }
@@ -26,8 +26,115 @@ public @interface ModelAdapterFactoryConfiguration {
     @AttributeDefinition(name = "Maximum Recursion Depth", description = "Maximum depth adaptation will be attempted.")
     int max_recursion_depth() default 20;
 
+    /**
+     * @deprecated disposal callbacks are called as soon as the model is collected, there is no cleanup job anymore
+     */
+    @Deprecated
     @AttributeDefinition(
             name = "Cleanup Job Period",
-            description = "Period in seconds at which OSGi service references from ThreadLocals will be cleaned up.")
+            description =
+                    "No longer used: disposal callbacks of models are called as soon as the model has been garbage collected.")
     long cleanup_job_period() default 30l;
+
+    @AttributeDefinition(
+            name = "Negative Request Cache",
+            description =
+                    "If enabled, adaptations of a request which failed due to an invalid adaptable or a @PostConstruct method returning false are remembered until the end of the request. Repeated attempts for the same request, resource and model then fail immediately. Failures due to missing elements are not remembered, as the request attributes may change during the request.")
+    boolean negative_request_cache_enabled() default false;
+
+    @AttributeDefinition(
+            name = "Single-Flight Timeout",
+            description =
+                    "Maximum time in milliseconds a thread waits for another thread which is creating the same cached model for the same adaptable, before creating the model on its own. Set to 0 to disable waiting for concurrent creations.")
+    long single_flight_timeout() default 0L;
+
+    @AttributeDefinition(
+            name = "Resource Resolver Cache",
+            description =
+                    "If enabled, cached models adapted from resources are stored with the resource resolver of the resource instead of in the global cache. They are released and the disposal callbacks of all models adapted from its resources are called once the resource resolver is closed.")
+    boolean resource_resolver_cache_enabled() default false;
+
+    @AttributeDefinition(
+            name = "Lazy Collection Adaptation",
+            description =
+                    "If enabled, injected lists and collections whose elements need to be adapted (e.g. child resources injected as a list of models) are injected as lists adapting each element on first access. Adaptation failures are then thrown on access instead of failing the model creation.")
+    boolean lazy_collection_adaptation_enabled() default false;
+
+    @AttributeDefinition(
+            name = "Parallel Adaptation Parallelism",
+            description =
+                    "Maximum number of collection elements adapted concurrently for the injections of the models matching the parallel adaptation model patterns. Set to 0 to disable parallel adaptation, in which case all collections are adapted sequentially.")
+    int parallel_adaptation_parallelism() default 0;
+
+    @AttributeDefinition(
+            name = "Parallel Adaptation Model Patterns",
+            description =
+                    "Fully qualified names of model implementation classes or packages (ending with '.*', including sub packages) whose injected collections are adapted in parallel. '*' matches all models. Only list models whose injected models and adaptables (including their resource providers) are safe for concurrent reads. The order of the elements is preserved and the injection fails with the first failing adaptation.")
+    String[] parallel_adaptation_model_patterns();
+
+    @AttributeDefinition(
+            name = "Injected Value Cache Size",
+            description =
+                    "Maximum number of injected values cached per GET or HEAD request and shared between all models injecting the same value from the same request. Values injected from other adaptables are not cached. Only injectors marked as cacheable participate. Set to 0 to disable the cache.")
+    int injected_value_cache_max_entries() default 0;
+
+    @AttributeDefinition(
+            name = "Bundle Analysis Threads",
+            description =
+                    "Number of threads analyzing bundles for models in parallel and asynchronously to the bundle events. Models of a bundle are registered together once its analysis completed. Set to 0 to analyze bundles synchronously.")
+    int bundle_analysis_threads() default 0;
+
+    @AttributeDefinition(
+            name = "Lazy Model Metadata",
+            description =
+                    "If enabled the constructors, fields and methods of a model are only reflected on with its first adaptation, which speeds up the registration of models. Broken models then fail on adaptation instead of being rejected and logged when registering them. If disabled (default) all models are reflected on when registering them.")
+    boolean lazy_model_metadata_enabled() default false;
+
+    @AttributeDefinition(
+            name = "Persistent Model Index",
+            description =
+                    "If enabled the model classes found by scanning the Sling-Model-Packages of a bundle are stored in the data area of this bundle. As long as a bundle is not updated its packages are not scanned again, also across restarts.")
+    boolean persistent_model_index_enabled() default false;
+
+    @AttributeDefinition(
+            name = "Consolidated Adapter Factories",
+            description =
+                    "If enabled a single AdapterFactory service is registered for all models of a bundle sharing the same adaptables and adapter condition, instead of one service per model. This reduces the number of service registrations and the related AdapterManager updates when bundles are started or stopped.")
+    boolean consolidated_adapter_factories_enabled() default false;
+
+    @AttributeDefinition(
+            name = "Dispatching Exporter Servlets",
+            description =
+                    "If enabled a single exporter servlet is registered per exporter selector and extension, covering the resource types of all exporting models and dispatching to the model of the requested resource type. Otherwise one servlet is registered per resource type and exporter.")
+    boolean dispatching_export_servlets_enabled() default false;
+
+    @AttributeDefinition(
+            name = "Warm-Up After Bundle Analysis",
+            description =
+                    "If enabled all registered models are warmed up in the background once the bundles active at startup have been analyzed, i.e. their metadata is built and the proxy classes of interface models are generated.")
+    boolean warm_up_after_bundle_analysis_enabled() default false;
+
+    @AttributeDefinition(
+            name = "Warm-Up Hot Models Only",
+            description =
+                    "If enabled the warm-up after bundle analysis only handles the models of the model usage profile, i.e. the models most created in previous runs. Has no effect unless the model usage profile is enabled.")
+    boolean warm_up_hot_models_only() default false;
+
+    @AttributeDefinition(
+            name = "Model Usage Profile",
+            description =
+                    "If enabled the number of model creations per model type is counted and the most created models are persisted periodically to the data area of this bundle. The model warm-up handles the models of this profile first, also after a restart.")
+    boolean usage_profile_enabled() default false;
+
+    @AttributeDefinition(
+            name = "Model Usage Profile Persist Interval",
+            description =
+                    "The interval in seconds in which the model usage profile is persisted. If 0 or lower the profile is only persisted when this component is deactivated.")
+    long usage_profile_persist_interval() default 300;
+
+    @AttributeDefinition(
+            name = "Model Usage Profile Max Entries",
+            description =
+                    "The maximum number of model types kept in the persisted model usage profile, the most created ones are kept.")
+    int usage_profile_max_entries() default 500;
 }
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.util.Arrays;
+
+import org.apache.sling.models.impl.ModelCachePolicyConfiguration.CacheMode;
+import org.apache.sling.models.impl.model.CachePolicy;
+import org.apache.sling.models.impl.model.CacheScope;
+import org.apache.sling.models.impl.model.ModelClass;
+import org.jetbrains.annotations.NotNull;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.metatype.annotations.Designate;
+
+/**
+ * Cache policy configured for a set of model classes, overriding the caching defined by their model annotation.
+ * The policies are picked up by the {@link ModelAdapterFactory} and applied to the matching model classes at runtime.
+ */
+@Component(service = ModelCachePolicy.class, configurationPolicy = ConfigurationPolicy.REQUIRE)
+@Designate(ocd = ModelCachePolicyConfiguration.class, factory = true)
+public class ModelCachePolicy {
+
+    /**
+     * Specificity of a pattern not matching the class name.
+     */
+    static final int NO_MATCH = -1;
+
+    private String[] patterns = new String[0];
+
+    private CacheMode cacheMode = CacheMode.DEFAULT;
+
+    private CacheScope scope = CacheScope.DEFAULT;
+
+    @Activate
+    protected void activate(final ModelCachePolicyConfiguration configuration) {
+        if (configuration.model_patterns() != null) {
+            this.patterns = configuration.model_patterns();
+        }
+        this.cacheMode = configuration.cache();
+        this.scope = configuration.scope();
+    }
+
+    /**
+     * @param className the fully qualified class name
+     * @return the specificity of the most specific pattern matching the class name, {@link #NO_MATCH} if no pattern
+     *     matches. Class names are more specific than packages, longer packages more specific than shorter ones.
+     */
+    int getSpecificity(final String className) {
+        return getSpecificity(patterns, className);
+    }
+
+    /**
+     * @param patterns fully qualified class names, package patterns ending with {@code .*} or {@code *}
+     * @param className the fully qualified class name
+     * @return the specificity of the most specific pattern matching the class name, {@link #NO_MATCH} if no pattern
+     *     matches
+     */
+    static int getSpecificity(final String[] patterns, final String className) {
+        int specificity = NO_MATCH;
+        for (String pattern : patterns) {
+            final String trimmed = pattern.trim();
+            if (trimmed.equals("*")) {
+                specificity = Math.max(specificity, 0);
+            } else if (trimmed.endsWith(".*")) {
+                final String packagePrefix = trimmed.substring(0, trimmed.length() - 1);
+                if (className.startsWith(packagePrefix)) {
+                    specificity = Math.max(specificity, packagePrefix.length());
+                }
+            } else if (trimmed.equals(className)) {
+                return Integer.MAX_VALUE;
+            }
+        }
+        return specificity;
+    }
+
+    /**
+     * @param modelClass the model class
+     * @return the cache policy for the given model class resulting from this configuration
+     */
+    @NotNull
+    CachePolicy getCachePolicy(final ModelClass<?> modelClass) {
+        final boolean enabled;
+        if (cacheMode == CacheMode.ENABLED) {
+            enabled = true;
+        } else if (cacheMode == CacheMode.DISABLED) {
+            enabled = false;
+        } else {
+            enabled = modelClass.hasModelAnnotation()
+                    && modelClass.getModelAnnotation().cache();
+        }
+        return new CachePolicy(enabled, scope);
+    }
+
+    @Override
+    public String toString() {
+        return "ModelCachePolicy [patterns=" + Arrays.toString(patterns) + ", cache=" + cacheMode + ", scope=" + scope
+                + "]";
+    }
+}
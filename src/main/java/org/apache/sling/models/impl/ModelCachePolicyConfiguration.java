@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import org.apache.sling.models.impl.model.CacheScope;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+@ObjectClassDefinition(
+        name = "Apache Sling Models Cache Policy",
+        description = "Overrides the caching defined via @Model(cache=...) for the matching model classes.")
+public @interface ModelCachePolicyConfiguration {
+
+    /**
+     * Whether caching is switched on or off by a cache policy.
+     */
+    enum CacheMode {
+        /** Caching as defined by the model annotation. */
+        DEFAULT,
+        /** Caching is enabled. */
+        ENABLED,
+        /** Caching is disabled. */
+        DISABLED
+    }
+
+    @AttributeDefinition(
+            name = "Model Patterns",
+            description =
+                    "Fully qualified names of model implementation classes or packages (ending with '.*', including sub packages) the policy applies to. '*' matches all models. The most specific pattern of all policies wins.")
+    String[] model_patterns();
+
+    @AttributeDefinition(name = "Cache", description = "Switches caching on or off for the matching models.")
+    CacheMode cache() default CacheMode.ENABLED;
+
+    @AttributeDefinition(
+            name = "Cache Scope",
+            description =
+                    "Scope in which instances of the matching models are cached. REQUEST only caches models adapted from requests, RESOLVER caches models adapted from resources until their resource resolver is closed, SHARED caches models adapted from resources in the global cache.")
+    CacheScope scope() default CacheScope.DEFAULT;
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.sling.models.annotations.Model;
+
+/**
+ * Checks whether a class file may contain a model class without loading the class. As {@link Model} has runtime
+ * retention, the constant pool of each class annotated with it contains the type descriptor of the annotation. Class
+ * files without that descriptor can therefore be skipped, which saves loading and initializing all non-model classes
+ * of the model packages.
+ * <p>
+ * The check may yield false positives (e.g. if the annotation type is only used in a signature), but never false
+ * negatives: whenever the class file cannot be parsed it is considered a candidate.
+ */
+final class ModelClassScreener {
+
+    private static final byte[] MODEL_DESCRIPTOR =
+            ("L" + Model.class.getName().replace('.', '/') + ";").getBytes(StandardCharsets.UTF_8);
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private ModelClassScreener() {
+        // static methods only
+    }
+
+    /**
+     * @param classFile the URL of the class file
+     * @return {@code false} if the class is for sure not annotated with {@link Model}
+     */
+    static boolean mayBeModelClass(final URL classFile) {
+        try (InputStream in = classFile.openStream()) {
+            return mayBeModelClass(in);
+        } catch (IOException | RuntimeException e) {
+            return true;
+        }
+    }
+
+    /**
+     * @param classFile the class file
+     * @return {@code false} if the class is for sure not annotated with {@link Model}
+     * @throws IOException if the class file cannot be read
+     */
+    static boolean mayBeModelClass(final InputStream classFile) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(classFile));
+        if (in.readInt() != MAGIC) {
+            return true;
+        }
+        // minor and major version
+        in.skipNBytes(4);
+        final int constantPoolCount = in.readUnsignedShort();
+        for (int i = 1; i < constantPoolCount; i++) {
+            final int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    final int length = in.readUnsignedShort();
+                    if (length == MODEL_DESCRIPTOR.length) {
+                        if (Arrays.equals(in.readNBytes(length), MODEL_DESCRIPTOR)) {
+                            return true;
+                        }
+                    } else {
+                        in.skipNBytes(length);
+                    }
+                    break;
+                case 7: // Class
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    in.skipNBytes(2);
+                    break;
+                case 15: // MethodHandle
+                    in.skipNBytes(3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    in.skipNBytes(4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    in.skipNBytes(8);
+                    // takes two entries
+                    i++;
+                    break;
+                default:
+                    // unknown constant pool entry, let the class loader decide
+                    return true;
+            }
+        }
+        return false;
+    }
+}
@@ -42,6 +42,8 @@ public class ModelConfigurationPrinter {
     private static final String EXPORT_SERVLET_FILTER =
             "(" + ModelPackageBundleListener.PROP_EXPORTER_SERVLET_CLASS + "=*)";
 
+    private static final int PRINTED_HOT_ENTRIES = 20;
+
     private final ModelAdapterFactory modelAdapterFactory;
     private final BundleContext bundleContext;
     private final AdapterImplementations adapterImplementations;
@@ -76,6 +78,35 @@ public class ModelConfigurationPrinter {
         return value.toString();
     }
 
+    private String[] propertyToArray(Object value) {
+        if (value == null) {
+            return new String[0];
+        }
+        if (value.getClass().isArray()) {
+            return Arrays.stream((Object[]) value).map(String::valueOf).toArray(String[]::new);
+        }
+        return new String[] {value.toString()};
+    }
+
+    private void printExporterServlet(
+            PrintWriter printWriter,
+            String className,
+            String resourceType,
+            String selector,
+            String extension,
+            String exporterName) {
+        printWriter.print(className);
+        printWriter.print(" exports '");
+        printWriter.print(resourceType);
+        printWriter.print("' with selector '");
+        printWriter.print(selector);
+        printWriter.print("' and extension '");
+        printWriter.print(extension);
+        printWriter.print("' with exporter '");
+        printWriter.print(exporterName);
+        printWriter.println("'");
+    }
+
     public void printConfiguration(PrintWriter printWriter) {
 
         // injectors
@@ -175,22 +206,99 @@ public class ModelConfigurationPrinter {
                     bundleContext.getServiceReferences(Servlet.class.getName(), EXPORT_SERVLET_FILTER);
             if (servlets != null) {
                 for (ServiceReference ref : servlets) {
-                    printWriter.print(
-                            propertyToString(ref.getProperty(ModelPackageBundleListener.PROP_EXPORTER_SERVLET_CLASS)));
-                    printWriter.print(" exports '");
-                    printWriter.print(propertyToString(ref.getProperty("sling.servlet.resourceTypes")));
-                    printWriter.print("' with selector '");
-                    printWriter.print(propertyToString(ref.getProperty("sling.servlet.selectors")));
-                    printWriter.print("' and extension '");
-                    printWriter.print(propertyToString(ref.getProperty("sling.servlet.extensions")));
-                    printWriter.print("' with exporter '");
-                    printWriter.print(
-                            propertyToString(ref.getProperty(ModelPackageBundleListener.PROP_EXPORTER_SERVLET_NAME)));
-                    printWriter.println("'");
+                    String[] classNames =
+                            propertyToArray(ref.getProperty(ModelPackageBundleListener.PROP_EXPORTER_SERVLET_CLASS));
+                    String[] resourceTypes = propertyToArray(ref.getProperty("sling.servlet.resourceTypes"));
+                    String[] exporterNames =
+                            propertyToArray(ref.getProperty(ModelPackageBundleListener.PROP_EXPORTER_SERVLET_NAME));
+                    String selector = propertyToString(ref.getProperty("sling.servlet.selectors"));
+                    String extension = propertyToString(ref.getProperty("sling.servlet.extensions"));
+                    if (classNames.length == resourceTypes.length && exporterNames.length == resourceTypes.length) {
+                        // a dispatching servlet lists the model class and exporter at the index of the resource type
+                        for (int i = 0; i < resourceTypes.length; i++) {
+                            printExporterServlet(
+                                    printWriter,
+                                    classNames[i],
+                                    resourceTypes[i],
+                                    selector,
+                                    extension,
+                                    exporterNames[i]);
+                        }
+                    } else {
+                        printExporterServlet(
+                                printWriter,
+                                Arrays.toString(classNames),
+                                Arrays.toString(resourceTypes),
+                                selector,
+                                extension,
+                                Arrays.toString(exporterNames));
+                    }
                 }
             }
         } catch (InvalidSyntaxException e) {
             // ignore
         }
+
+        printWriter.println();
+
+        // cache statistics
+        printWriter.println("Sling Models Cache Statistics:");
+        printWriter.printf(
+                "Suppressed failed adaptations (negative request cache): %d",
+                modelAdapterFactory.getSuppressedFailedAdaptations());
+        printWriter.println();
+        printWriter.println();
+
+        // disposal statistics
+        DisposalCleaner disposalCleaner = modelAdapterFactory.getDisposalCleaner();
+        if (disposalCleaner != null) {
+            printWriter.println("Sling Models Disposal Statistics:");
+            printWriter.printf("Pending disposals: %d", disposalCleaner.getPending());
+            printWriter.println();
+            printWriter.printf("Completed disposals: %d", disposalCleaner.getDisposed());
+            printWriter.println();
+            printWriter.printf(
+                    "Disposal callback duration (average/maximum): %d/%d us",
+                    disposalCleaner.getAverageCallbackMicros(), disposalCleaner.getMaxCallbackMicros());
+            printWriter.println();
+        }
+
+        // injected value cache statistics
+        InjectedValueCache injectedValueCache = modelAdapterFactory.getInjectedValueCache();
+        if (injectedValueCache != null) {
+            printWriter.println();
+            long hits = injectedValueCache.getHits();
+            long lookups = hits + injectedValueCache.getMisses();
+            printWriter.println("Sling Models Injected Value Cache Statistics:");
+            printWriter.printf(
+                    "Hits/lookups: %d/%d (%d%%)", hits, lookups, lookups > 0 ? Math.round(100.0 * hits / lookups) : 0);
+            printWriter.println();
+        }
+
+        printWriter.println();
+        printWriter.println("Sling Models Warm-Up:");
+        ModelWarmUp warmUp = modelAdapterFactory.getWarmUp();
+        if (warmUp.getLastDurationMillis() < 0) {
+            printWriter.println("Not run yet");
+        } else {
+            printWriter.printf(
+                    "Last run: %d models (%d from usage profile) in %d ms, %d failed",
+                    warmUp.getLastModelCount(),
+                    warmUp.getLastHotModelCount(),
+                    warmUp.getLastDurationMillis(),
+                    warmUp.getLastFailureCount());
+            printWriter.println();
+        }
+
+        ModelUsageProfile usageProfile = modelAdapterFactory.getUsageProfile();
+        if (usageProfile != null) {
+            printWriter.println();
+            printWriter.println("Sling Models Usage Profile (most created models):");
+            List<ModelUsageProfile.Entry> entries = usageProfile.getHotEntries();
+            for (ModelUsageProfile.Entry entry : entries.subList(0, Math.min(PRINTED_HOT_ENTRIES, entries.size()))) {
+                printWriter.printf("%d - %s", entry.count(), entry.modelType());
+                printWriter.println();
+            }
+        }
     }
 }
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Values shared between the injections of one model creation, e.g. via adaptables or child resources looked up by
+ * several elements. A new instance is created per model creation and passed to the injections explicitly, it is not
+ * referenced by the created model.
+ * The implementation is not thread-safe, as the elements of one model are injected by a single thread.
+ */
+public final class ModelCreationMemo {
+
+    private static final Object NULL = new Object();
+
+    private Map<Object, Object> values;
+
+    /**
+     * Returns the value computed for the given key during the current model creation, computing it on first use.
+     * @param key the key, must implement equals and hashCode
+     * @param supplier computes the value, may return {@code null}
+     * @return the memoized value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T memoize(@NotNull Object key, @NotNull Supplier<T> supplier) {
+        if (values == null) {
+            values = new HashMap<>();
+        }
+        Object value = values.get(key);
+        if (value == null) {
+            value = supplier.get();
+            values.put(key, value != null ? value : NULL);
+            return (T) value;
+        }
+        return value == NULL ? null : (T) value;
+    }
+}
@@ -21,13 +21,23 @@ package org.apache.sling.models.impl;
 import java.lang.annotation.AnnotationFormatError;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jakarta.servlet.Servlet;
 import org.apache.commons.lang3.ArrayUtils;
@@ -39,12 +49,16 @@ import org.apache.sling.models.annotations.Exporter;
 import org.apache.sling.models.annotations.ExporterOption;
 import org.apache.sling.models.annotations.Exporters;
 import org.apache.sling.models.annotations.Model;
+import org.apache.sling.models.impl.index.ModelIndex;
+import org.apache.sling.models.impl.index.PersistentModelIndex;
+import org.apache.sling.models.impl.model.ModelClass;
 import org.apache.sling.scripting.api.BindingsValuesProvidersByContext;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.BundleEvent;
 import org.osgi.framework.ServiceReference;
 import org.osgi.framework.ServiceRegistration;
+import org.osgi.service.condition.Condition;
 import org.osgi.util.converter.Converters;
 import org.osgi.util.tracker.BundleTracker;
 import org.osgi.util.tracker.BundleTrackerCustomizer;
@@ -74,8 +88,19 @@ public class ModelPackageBundleListener implements BundleTrackerCustomizer<Servi
      */
     public static final String PROP_ALLOWED_IN_PRIVATE = "adapter.allowed.in.private.package";
 
+    /**
+     * Identifier of the {@link Condition} registered once the models of all bundles which were active when the
+     * listener was created have been registered. Bundles started afterwards are not reflected.
+     */
+    public static final String PACKAGES_ANALYZED_CONDITION_ID = "sling.models.packages.analyzed";
+
     private static final Logger log = LoggerFactory.getLogger(ModelPackageBundleListener.class);
 
+    /**
+     * Maximum time to wait for the bundle analysis threads to terminate when closing the listener.
+     */
+    private static final long ANALYSIS_TERMINATION_TIMEOUT_SECONDS = 30;
+
     private final BundleContext bundleContext;
 
     private final BundleTracker bundleTracker;
@@ -88,31 +113,148 @@ public class ModelPackageBundleListener implements BundleTrackerCustomizer<Servi
 
     private final SlingModelsScriptEngineFactory scriptEngineFactory;
 
+    /**
+     * Cache of the model classes found by scanning bundles, {@code null} if disabled.
+     */
+    private final PersistentModelIndex persistentIndex;
+
+    /**
+     * Whether to register one adapter factory per group of models instead of one per model.
+     */
+    private final boolean consolidateAdapterFactories;
+
+    /**
+     * Dispatcher registering one servlet per exporter selector and extension, {@code null} to register one servlet
+     * per resource type and exporter.
+     */
+    private final ExportServletDispatcher exportServletDispatcher;
+
+    /**
+     * Executor for the asynchronous bundle analysis, {@code null} if bundles are analyzed synchronously.
+     */
+    private final ExecutorService analysisExecutor;
+
+    /**
+     * Asynchronous analyses by bundle id.
+     */
+    private final Map<Long, BundleAnalysis> analyses = new ConcurrentHashMap<>();
+
+    private final AtomicInteger pendingAnalyses = new AtomicInteger();
+
+    /**
+     * Guards the readiness state, waiting threads are notified once all pending analyses are completed.
+     */
+    private final Object readinessLock = new Object();
+
+    private boolean trackingStarted;
+
+    private ServiceRegistration<Condition> readyRegistration;
+
     public ModelPackageBundleListener(
             BundleContext bundleContext,
             ModelAdapterFactory factory,
             AdapterImplementations adapterImplementations,
             BindingsValuesProvidersByContext bindingsValuesProvidersByContext,
             SlingModelsScriptEngineFactory scriptEngineFactory) {
+        this(
+                bundleContext,
+                factory,
+                adapterImplementations,
+                bindingsValuesProvidersByContext,
+                scriptEngineFactory,
+                0,
+                null,
+                false,
+                false);
+    }
+
+    /**
+     * @param bundleContext the bundle context
+     * @param factory the model adapter factory
+     * @param adapterImplementations the adapter implementations
+     * @param bindingsValuesProvidersByContext the bindings values providers
+     * @param scriptEngineFactory the script engine factory
+     * @param analysisThreads the number of threads analyzing bundles asynchronously, 0 to analyze bundles
+     *     synchronously within the bundle tracker callback
+     * @param persistentIndex the cache of the model classes found by scanning bundles, {@code null} to always scan
+     * @param consolidateAdapterFactories {@code true} to register one adapter factory service for all models of a
+     *     bundle sharing the same adaptables and condition, {@code false} to register one per model
+     * @param dispatchExportServlets {@code true} to register one exporter servlet per selector and extension,
+     *     {@code false} to register one per resource type and exporter
+     */
+    public ModelPackageBundleListener(
+            BundleContext bundleContext,
+            ModelAdapterFactory factory,
+            AdapterImplementations adapterImplementations,
+            BindingsValuesProvidersByContext bindingsValuesProvidersByContext,
+            SlingModelsScriptEngineFactory scriptEngineFactory,
+            int analysisThreads,
+            PersistentModelIndex persistentIndex,
+            boolean consolidateAdapterFactories,
+            boolean dispatchExportServlets) {
         this.bundleContext = bundleContext;
         this.factory = factory;
         this.adapterImplementations = adapterImplementations;
         this.bindingsValuesProvidersByContext = bindingsValuesProvidersByContext;
         this.scriptEngineFactory = scriptEngineFactory;
+        this.persistentIndex = persistentIndex;
+        this.consolidateAdapterFactories = consolidateAdapterFactories;
+        this.exportServletDispatcher = dispatchExportServlets ? new ExportServletDispatcher(bundleContext) : null;
+        this.analysisExecutor = analysisThreads > 0 ? createAnalysisExecutor(analysisThreads) : null;
         this.bundleTracker = new BundleTracker<>(bundleContext, Bundle.ACTIVE, this);
         this.bundleTracker.open();
+        synchronized (readinessLock) {
+            trackingStarted = true;
+        }
+        updateReadiness();
     }
 
     @Override
     public ServiceRegistration[] addingBundle(Bundle bundle, BundleEvent event) {
-        List<ServiceRegistration> regs = new ArrayList<>();
+        if (analysisExecutor == null) {
+            return analyzeBundle(bundle);
+        }
+        BundleAnalysis analysis = new BundleAnalysis(bundle);
+        analyses.put(bundle.getBundleId(), analysis);
+        pendingAnalyses.incrementAndGet();
+        try {
+            analysisExecutor.execute(analysis);
+        } catch (RejectedExecutionException e) {
+            // the listener is being closed
+            analyses.remove(bundle.getBundleId(), analysis);
+            analysisCompleted();
+        }
+        // the registrations are tracked by the analysis
+        return new ServiceRegistration[0];
+    }
+
+    /**
+     * Analyzes the bundle and registers its models. All model classes are loaded and reflected on first, afterwards
+     * all models of the bundle are registered at once.
+     * @param bundle the bundle
+     * @return the service registrations
+     */
+    private ServiceRegistration[] analyzeBundle(Bundle bundle) {
+        List<ModelCandidate> candidates = new ArrayList<>();
 
         Dictionary<String, String> headers = bundle.getHeaders();
         String packageList = headers.get(PACKAGE_HEADER);
         if (packageList != null) {
             packageList = StringUtils.deleteWhitespace(packageList);
             String[] packages = packageList.split(",");
+            final List<ModelIndex.Entry> index = persistentIndex != null ? persistentIndex.read(bundle) : null;
+            // all classes passing the screener, not only the models, so that reading them back behaves like a scan
+            List<ModelIndex.Entry> screenedClasses = new ArrayList<>();
             for (String singlePackage : packages) {
+                if (index != null) {
+                    // only load the classes found by a previous scan instead of scanning the package again
+                    for (ModelIndex.Entry entry : index) {
+                        if (entry.isInPackage(singlePackage)) {
+                            analyzeClass(bundle, entry.className(), candidates);
+                        }
+                    }
+                    continue;
+                }
                 Enumeration<URL> classUrls = bundle.findEntries("/" + singlePackage.replace('.', '/'), "*.class", true);
 
                 if (classUrls == null) {
@@ -122,25 +264,48 @@ public class ModelPackageBundleListener implements BundleTrackerCustomizer<Servi
 
                 while (classUrls.hasMoreElements()) {
                     URL url = classUrls.nextElement();
-                    String className = toClassName(url);
-                    analyzeClass(bundle, className, regs);
+                    // avoid loading classes which are not annotated
+                    if (ModelClassScreener.mayBeModelClass(url)) {
+                        String className = toClassName(url);
+                        screenedClasses.add(new ModelIndex.Entry(className));
+                        analyzeClass(bundle, className, candidates);
+                    }
                 }
             }
+            if (index == null && persistentIndex != null) {
+                persistentIndex.write(bundle, screenedClasses);
+            }
         }
         String classesList = headers.get(CLASSES_HEADER);
         if (classesList != null) {
             classesList = StringUtils.deleteWhitespace(classesList);
             String[] classes = classesList.split(",");
             for (String className : classes) {
-                analyzeClass(bundle, className, regs);
+                analyzeClass(bundle, className, candidates);
             }
         }
 
+        List<ServiceRegistration> regs = new ArrayList<>();
+        List<ExportServletDispatcher.Export> exports = new ArrayList<>();
+        for (ModelCandidate candidate : candidates) {
+            registerModel(bundle, candidate, regs, exports);
+        }
+        if (consolidateAdapterFactories) {
+            registerConsolidatedAdapterFactories(candidates, regs);
+        }
+        if (exportServletDispatcher != null) {
+            exportServletDispatcher.addAll(bundle, exports);
+        }
         return regs.toArray(new ServiceRegistration[0]);
     }
 
-    @SuppressWarnings("deprecation")
-    private void analyzeClass(Bundle bundle, String className, List<ServiceRegistration> regs) {
+    /**
+     * A model class which has been reflected on but is not yet registered.
+     */
+    private record ModelCandidate(
+            Class<?> implType, Model annotation, Class<?>[] adapterTypes, ModelClass<?> modelClass) {}
+
+    private void analyzeClass(Bundle bundle, String className, List<ModelCandidate> candidates) {
         try {
             Class<?> implType = bundle.loadClass(className);
             Model annotation = implType.getAnnotation(Model.class);
@@ -155,41 +320,9 @@ public class ModelPackageBundleListener implements BundleTrackerCustomizer<Servi
                 }
                 // register adapter only if given adapters are valid
                 if (validateAdapterClasses(implType, adapterTypes)) {
-                    if (adapterImplementations.addAll(implType, adapterTypes)) {
-                        ServiceRegistration reg = registerAdapterFactory(
-                                adapterTypes,
-                                LegacyAdaptablesExtender.getAdaptables(annotation),
-                                implType,
-                                annotation.condition());
-                        regs.add(reg);
-
-                        String[] resourceTypes = annotation.resourceType();
-                        for (String resourceType : resourceTypes) {
-                            if (StringUtils.isNotEmpty(resourceType)) {
-                                for (Class<?> adaptable : annotation.adaptables()) {
-                                    adapterImplementations.registerModelToResourceType(
-                                            bundle, resourceType, adaptable, implType);
-                                    ExportServlet.ExportedObjectAccessor accessor = null;
-                                    if (adaptable == Resource.class) {
-                                        accessor = new ExportServlet.ResourceAccessor(implType);
-                                    } else if (adaptable == SlingJakartaHttpServletRequest.class
-                                            || adaptable == org.apache.sling.api.SlingHttpServletRequest.class) {
-                                        accessor = new ExportServlet.RequestAccessor(implType);
-                                    }
-                                    Exporter exporterAnnotation = implType.getAnnotation(Exporter.class);
-                                    if (exporterAnnotation != null) {
-                                        registerExporter(
-                                                bundle, implType, resourceType, exporterAnnotation, regs, accessor);
-                                    }
-                                    Exporters exportersAnnotation = implType.getAnnotation(Exporters.class);
-                                    if (exportersAnnotation != null) {
-                                        for (Exporter ann : exportersAnnotation.value()) {
-                                            registerExporter(bundle, implType, resourceType, ann, regs, accessor);
-                                        }
-                                    }
-                                }
-                            }
-                        }
+                    ModelClass<?> modelClass = adapterImplementations.createModelClass(implType);
+                    if (modelClass != null) {
+                        candidates.add(new ModelCandidate(implType, annotation, adapterTypes, modelClass));
                     }
                 }
             }
@@ -203,31 +336,217 @@ public class ModelPackageBundleListener implements BundleTrackerCustomizer<Servi
         }
     }
 
+    @SuppressWarnings("deprecation")
+    private void registerModel(
+            Bundle bundle,
+            ModelCandidate candidate,
+            List<ServiceRegistration> regs,
+            List<ExportServletDispatcher.Export> exports) {
+        Class<?> implType = candidate.implType();
+        Model annotation = candidate.annotation();
+        try {
+            adapterImplementations.addAll(candidate.modelClass(), candidate.adapterTypes());
+            if (!consolidateAdapterFactories) {
+                ServiceRegistration reg = registerAdapterFactory(
+                        candidate.adapterTypes(),
+                        LegacyAdaptablesExtender.getAdaptables(annotation),
+                        implType,
+                        annotation.condition());
+                regs.add(reg);
+            }
+
+            String[] resourceTypes = annotation.resourceType();
+            for (String resourceType : resourceTypes) {
+                if (StringUtils.isNotEmpty(resourceType)) {
+                    for (Class<?> adaptable : annotation.adaptables()) {
+                        adapterImplementations.registerModelToResourceType(bundle, resourceType, adaptable, implType);
+                        ExportServlet.ExportedObjectAccessor accessor = null;
+                        if (adaptable == Resource.class) {
+                            accessor = new ExportServlet.ResourceAccessor(implType);
+                        } else if (adaptable == SlingJakartaHttpServletRequest.class
+                                || adaptable == org.apache.sling.api.SlingHttpServletRequest.class) {
+                            accessor = new ExportServlet.RequestAccessor(implType);
+                        }
+                        Exporter exporterAnnotation = implType.getAnnotation(Exporter.class);
+                        if (exporterAnnotation != null) {
+                            registerExporter(
+                                    bundle, implType, resourceType, exporterAnnotation, regs, exports, accessor);
+                        }
+                        Exporters exportersAnnotation = implType.getAnnotation(Exporters.class);
+                        if (exportersAnnotation != null) {
+                            for (Exporter ann : exportersAnnotation.value()) {
+                                registerExporter(bundle, implType, resourceType, ann, regs, exports, accessor);
+                            }
+                        }
+                    }
+                }
+            }
+        } catch (NoClassDefFoundError | AnnotationFormatError e) {
+            log.warn(
+                    "Unable to register class '{}' from bundle '{}': {}",
+                    implType.getName(),
+                    bundle.getSymbolicName(),
+                    e.getLocalizedMessage(),
+                    e);
+        }
+    }
+
     @Override
     public void modifiedBundle(Bundle bundle, BundleEvent event, ServiceRegistration[] object) {}
 
     @Override
     public void removedBundle(Bundle bundle, BundleEvent event, ServiceRegistration[] object) {
+        BundleAnalysis analysis = analyses.remove(bundle.getBundleId());
+        if (analysis != null) {
+            // waits for a running analysis, a pending one is skipped
+            object = analysis.cancel();
+        }
         for (ServiceRegistration reg : object) {
             ServiceReference ref = reg.getReference();
             String[] adapterTypeNames = Converters.standardConverter()
                     .convert(ref.getProperty(AdapterFactory.ADAPTER_CLASSES))
                     .to(String[].class);
             if (adapterTypeNames != null && adapterTypeNames.length > 0) {
-                String implTypeName = Converters.standardConverter()
+                // consolidated registrations list multiple implementations, removing an implementation for an adapter
+                // type it was not registered for has no effect
+                String[] implTypeNames = Converters.standardConverter()
                         .convert(ref.getProperty(PROP_IMPLEMENTATION_CLASS))
-                        .to(String.class);
+                        .to(String[].class);
                 for (String adapterTypeName : adapterTypeNames) {
-                    adapterImplementations.remove(adapterTypeName, implTypeName);
+                    for (String implTypeName : implTypeNames) {
+                        adapterImplementations.remove(adapterTypeName, implTypeName);
+                    }
                 }
             }
             reg.unregister();
         }
         adapterImplementations.removeResourceTypeBindings(bundle);
+        if (exportServletDispatcher != null) {
+            exportServletDispatcher.remove(bundle);
+        }
     }
 
     public synchronized void unregisterAll() {
+        if (analysisExecutor != null) {
+            analysisExecutor.shutdown();
+            // pending analyses are skipped, running ones are waited for
+            analyses.values().forEach(BundleAnalysis::cancel);
+            try {
+                if (!analysisExecutor.awaitTermination(ANALYSIS_TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn(
+                            "Bundle analysis did not terminate within {} seconds",
+                            ANALYSIS_TERMINATION_TIMEOUT_SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
         this.bundleTracker.close();
+        if (exportServletDispatcher != null) {
+            exportServletDispatcher.close();
+        }
+        synchronized (readinessLock) {
+            trackingStarted = false;
+            if (readyRegistration != null) {
+                readyRegistration.unregister();
+                readyRegistration = null;
+            }
+        }
+    }
+
+    /**
+     * Waits until the models of all bundles tracked so far have been registered.
+     * @param timeout the maximum time to wait
+     * @param unit the unit of the timeout
+     * @return {@code true} if all bundles have been analyzed, {@code false} if the timeout elapsed
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    boolean awaitAnalyses(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (readinessLock) {
+            while (pendingAnalyses.get() > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(readinessLock, remaining);
+            }
+            return true;
+        }
+    }
+
+    private void analysisCompleted() {
+        pendingAnalyses.decrementAndGet();
+        updateReadiness();
+    }
+
+    /**
+     * Registers the {@link Condition} with id {@link #PACKAGES_ANALYZED_CONDITION_ID} once the bundles which were
+     * active while the tracker was opened have been analyzed.
+     */
+    private void updateReadiness() {
+        synchronized (readinessLock) {
+            if (pendingAnalyses.get() > 0) {
+                return;
+            }
+            readinessLock.notifyAll();
+            if (trackingStarted && readyRegistration == null) {
+                log.debug("Models of all tracked bundles have been registered.");
+                Dictionary<String, Object> props = new Hashtable<>();
+                props.put(Condition.CONDITION_ID, PACKAGES_ANALYZED_CONDITION_ID);
+                readyRegistration = bundleContext.registerService(Condition.class, Condition.INSTANCE, props);
+            }
+        }
+    }
+
+    private static ExecutorService createAnalysisExecutor(int threads) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "sling-models-bundle-analysis-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Asynchronous analysis of a single bundle. The analysis holds its lock while running so that a concurrent
+     * removal of the bundle waits for the registrations to be published before unregistering them.
+     */
+    private final class BundleAnalysis implements Runnable {
+
+        private final Bundle bundle;
+
+        private ServiceRegistration[] registrations = new ServiceRegistration[0];
+
+        private boolean cancelled;
+
+        private BundleAnalysis(Bundle bundle) {
+            this.bundle = bundle;
+        }
+
+        @Override
+        public void run() {
+            try {
+                synchronized (this) {
+                    if (!cancelled) {
+                        registrations = analyzeBundle(bundle);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.error("Unable to analyze bundle '{}'", bundle.getSymbolicName(), e);
+            } finally {
+                analysisCompleted();
+            }
+        }
+
+        /**
+         * Prevents a pending analysis from running.
+         * @return the registrations of a completed analysis
+         */
+        private synchronized ServiceRegistration[] cancel() {
+            cancelled = true;
+            return registrations;
+        }
     }
 
     /** Convert class URL to class name */
@@ -237,7 +556,7 @@ public class ModelPackageBundleListener implements BundleTrackerCustomizer<Servi
         return cn.replace('/', '.');
     }
 
-    private String[] toStringArray(Class<?>[] classes) {
+    private static String[] toStringArray(Class<?>[] classes) {
         String[] arr = new String[classes.length];
         for (int i = 0; i < classes.length; i++) {
             arr[i] = classes[i].getName();
@@ -288,12 +607,54 @@ public class ModelPackageBundleListener implements BundleTrackerCustomizer<Servi
         return bundleContext.registerService(AdapterFactory.SERVICE_NAME, factory, registrationProps);
     }
 
+    /**
+     * Adapter factory registrations are shared by all models of a bundle with the same adaptables and condition.
+     */
+    private record AdapterFactoryGroup(List<String> adaptables, String condition) {}
+
+    /**
+     * Registers one adapter factory per group of models sharing the same adaptables and condition, listing the union
+     * of their adapter types.
+     * @param candidates the models of a bundle
+     * @param regs the service registrations
+     */
+    @SuppressWarnings("deprecation")
+    private void registerConsolidatedAdapterFactories(List<ModelCandidate> candidates, List<ServiceRegistration> regs) {
+        Map<AdapterFactoryGroup, List<ModelCandidate>> groups = new LinkedHashMap<>();
+        for (ModelCandidate candidate : candidates) {
+            AdapterFactoryGroup group = new AdapterFactoryGroup(
+                    Arrays.asList(toStringArray(LegacyAdaptablesExtender.getAdaptables(candidate.annotation()))),
+                    StringUtils.trimToNull(candidate.annotation().condition()));
+            groups.computeIfAbsent(group, k -> new ArrayList<>()).add(candidate);
+        }
+        for (Map.Entry<AdapterFactoryGroup, List<ModelCandidate>> entry : groups.entrySet()) {
+            Set<String> adapterTypeNames = new LinkedHashSet<>();
+            List<String> implTypeNames = new ArrayList<>();
+            for (ModelCandidate candidate : entry.getValue()) {
+                adapterTypeNames.addAll(Arrays.asList(toStringArray(candidate.adapterTypes())));
+                implTypeNames.add(candidate.implType().getName());
+            }
+            Dictionary<String, Object> registrationProps = new Hashtable<>();
+            registrationProps.put(AdapterFactory.ADAPTER_CLASSES, adapterTypeNames.toArray(new String[0]));
+            registrationProps.put(
+                    AdapterFactory.ADAPTABLE_CLASSES,
+                    entry.getKey().adaptables().toArray(new String[0]));
+            registrationProps.put(PROP_IMPLEMENTATION_CLASS, implTypeNames.toArray(new String[0]));
+            registrationProps.put(PROP_ALLOWED_IN_PRIVATE, true);
+            if (entry.getKey().condition() != null) {
+                registrationProps.put(PROP_ADAPTER_CONDITION, entry.getKey().condition());
+            }
+            regs.add(bundleContext.registerService(AdapterFactory.SERVICE_NAME, factory, registrationProps));
+        }
+    }
+
     private void registerExporter(
             Bundle bundle,
             Class<?> annotatedClass,
             String resourceType,
             Exporter exporterAnnotation,
             List<ServiceRegistration> regs,
+            List<ExportServletDispatcher.Export> exports,
             ExportServlet.ExportedObjectAccessor accessor) {
         if (accessor != null) {
             Map<String, String> baseOptions = getOptions(exporterAnnotation);
@@ -307,6 +668,16 @@ public class ModelPackageBundleListener implements BundleTrackerCustomizer<Servi
                     exporterAnnotation.name(),
                     accessor,
                     baseOptions);
+            if (exportServletDispatcher != null) {
+                exports.add(new ExportServletDispatcher.Export(
+                        annotatedClass,
+                        resourceType,
+                        exporterAnnotation.selector(),
+                        exporterAnnotation.extensions(),
+                        exporterAnnotation.name(),
+                        servlet));
+                return;
+            }
             Dictionary<String, Object> registrationProps = new Hashtable<>();
             registrationProps.put("sling.servlet.resourceTypes", resourceType);
             registrationProps.put("sling.servlet.selectors", exporterAnnotation.selector());
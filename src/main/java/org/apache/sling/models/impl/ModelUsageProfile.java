@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counts the model creations per model type and periodically persists the most created ones to a file in the data
+ * area of this bundle. The profile of the previous run is read on creation, so that a warm-up can handle the models
+ * which are actually used on this instance first.
+ * Counts of previous runs are halved on each restart, so that models which are no longer used fade out of the profile.
+ * The counters are kept per model class and only converted to class names when persisting, which also releases the
+ * classes of uninstalled bundles. The implementation is thread-safe.
+ */
+final class ModelUsageProfile implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelUsageProfile.class);
+
+    /**
+     * Upper bound of distinct model types being counted between two persists, further model types are ignored.
+     */
+    private static final int MAX_TRACKED_ENTRIES = 10000;
+
+    private static final char SEPARATOR = '\t';
+
+    private final Path file;
+
+    private final int maxEntries;
+
+    /**
+     * Counts of previous runs and of already persisted model classes by model type name.
+     */
+    private final Map<String, Long> persistedCounts;
+
+    private final ConcurrentMap<Class<?>, LongAdder> counts = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * Entry of the profile.
+     */
+    record Entry(String modelType, long count) {}
+
+    /**
+     * @param file the file holding the profile
+     * @param maxEntries the maximum number of entries to persist
+     */
+    ModelUsageProfile(@NotNull File file, int maxEntries) {
+        this.file = file.toPath();
+        this.maxEntries = maxEntries;
+        this.persistedCounts = read(this.file);
+    }
+
+    /**
+     * Persists the profile periodically in the background.
+     * @param intervalSeconds the interval in seconds, a value &lt;= 0 only persists the profile on {@link #close()}
+     */
+    synchronized void start(long intervalSeconds) {
+        if (intervalSeconds <= 0 || executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sling-models-usage-profile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::persist, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Counts the creation of a model.
+     * @param modelType the model type
+     */
+    void record(@NotNull Class<?> modelType) {
+        LongAdder counter = counts.get(modelType);
+        if (counter == null) {
+            if (counts.size() >= MAX_TRACKED_ENTRIES) {
+                return;
+            }
+            counter = counts.computeIfAbsent(modelType, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    /**
+     * @return the most created model types, ordered by decreasing count
+     */
+    @NotNull
+    synchronized List<Entry> getHotEntries() {
+        Map<String, Long> merged = new HashMap<>(persistedCounts);
+        counts.forEach((modelType, counter) -> merged.merge(modelType.getName(), counter.sum(), Long::sum));
+        List<Entry> entries = new ArrayList<>(merged.size());
+        merged.forEach((modelType, count) -> entries.add(new Entry(modelType, count)));
+        entries.sort(Comparator.comparingLong(Entry::count).reversed().thenComparing(Entry::modelType));
+        return entries.size() > maxEntries ? entries.subList(0, maxEntries) : entries;
+    }
+
+    /**
+     * @return the names of the most created model types, ordered by decreasing count
+     */
+    @NotNull
+    Set<String> getHotModelTypes() {
+        Set<String> modelTypes = new LinkedHashSet<>();
+        for (Entry entry : getHotEntries()) {
+            modelTypes.add(entry.modelType());
+        }
+        return modelTypes;
+    }
+
+    /**
+     * Writes the current profile to the file.
+     */
+    synchronized void persist() {
+        for (Map.Entry<Class<?>, LongAdder> entry : counts.entrySet()) {
+            // creations counted concurrently to the removal may get lost, which is negligible for a profile
+            counts.remove(entry.getKey(), entry.getValue());
+            persistedCounts.merge(entry.getKey().getName(), entry.getValue().sum(), Long::sum);
+        }
+        List<Entry> entries = getHotEntries();
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                for (Entry entry : entries) {
+                    writer.append(Long.toString(entry.count()))
+                            .append(SEPARATOR)
+                            .append(entry.modelType())
+                            .append('\n');
+                }
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to persist model usage profile to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the periodic persistence and persists the profile a last time.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+        }
+        persist();
+    }
+
+    private static Map<String, Long> read(Path file) {
+        Map<String, Long> result = new HashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return result;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(String.valueOf(SEPARATOR));
+                if (parts.length != 2) {
+                    continue;
+                }
+                try {
+                    // halve the counts of previous runs so that models which are no longer used fade out
+                    long count = Long.parseLong(parts[0]) / 2;
+                    if (count > 0) {
+                        result.merge(parts[1], count, Long::sum);
+                    }
+                } catch (NumberFormatException e) {
+                    log.debug("Ignoring invalid line of model usage profile: {}", line);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to read model usage profile from {}: {}", file, e.getMessage());
+            result.clear();
+        }
+        return result;
+    }
+}
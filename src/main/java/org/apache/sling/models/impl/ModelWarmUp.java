@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sling.models.impl.model.ModelClass;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pays the one-time costs of the first adaptations upfront by building the metadata of all registered models, which
+ * resolves the static inject annotation processors of their injectable elements, and generating the proxy classes of
+ * interface based models. If a {@link ModelUsageProfile} is available, the models most created in previous runs are
+ * warmed up first. The result of the last warm-up is kept for the configuration printer.
+ */
+final class ModelWarmUp {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelWarmUp.class);
+
+    private final AdapterImplementations adapterImplementations;
+
+    private volatile long lastDurationMillis = -1;
+
+    private volatile int lastModelCount;
+
+    private volatile int lastFailureCount;
+
+    private volatile int lastHotModelCount;
+
+    private volatile ModelUsageProfile usageProfile;
+
+    ModelWarmUp(AdapterImplementations adapterImplementations) {
+        this.adapterImplementations = adapterImplementations;
+    }
+
+    void setUsageProfile(@Nullable ModelUsageProfile usageProfile) {
+        this.usageProfile = usageProfile;
+    }
+
+    /**
+     * Warms up all currently registered models. Failures of single models are logged and do not abort the warm-up,
+     * an interrupt of the calling thread does.
+     * @return the duration of the warm-up in milliseconds
+     */
+    long warmUp() {
+        return warmUp(false);
+    }
+
+    /**
+     * Warms up the currently registered models. Failures of single models are logged and do not abort the warm-up,
+     * an interrupt of the calling thread does.
+     * @param hotModelsOnly {@code true} to only warm up the models of the usage profile, if no usage profile is
+     *     available all models are warmed up
+     * @return the duration of the warm-up in milliseconds
+     */
+    synchronized long warmUp(boolean hotModelsOnly) {
+        long start = System.nanoTime();
+        int models = 0;
+        int failures = 0;
+        int hotModels = 0;
+        ModelUsageProfile profile = this.usageProfile;
+        Map<String, Integer> ranks = getHotModelRanks(profile);
+        List<ModelClass<?>> modelClasses = new ArrayList<>(adapterImplementations.getModelClasses());
+        if (hotModelsOnly && profile != null) {
+            modelClasses.removeIf(
+                    modelClass -> !ranks.containsKey(modelClass.getType().getName()));
+        }
+        modelClasses.sort(Comparator.comparingInt(
+                modelClass -> ranks.getOrDefault(modelClass.getType().getName(), Integer.MAX_VALUE)));
+        for (ModelClass<?> modelClass : modelClasses) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.info("Model warm-up interrupted after {} of {} models.", models, modelClasses.size());
+                break;
+            }
+            models++;
+            if (ranks.containsKey(modelClass.getType().getName())) {
+                hotModels++;
+            }
+            try {
+                warmUp(modelClass);
+            } catch (RuntimeException | LinkageError e) {
+                failures++;
+                log.warn("Unable to warm up model {}", modelClass.getType().getName(), e);
+            }
+        }
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        this.lastDurationMillis = duration;
+        this.lastModelCount = models;
+        this.lastFailureCount = failures;
+        this.lastHotModelCount = hotModels;
+        log.info(
+                "Warmed up {} models ({} from usage profile) in {} ms, {} failed.",
+                models,
+                hotModels,
+                duration,
+                failures);
+        return duration;
+    }
+
+    /**
+     * @return the rank of the hot models by name, the most created model has the lowest rank
+     */
+    private static Map<String, Integer> getHotModelRanks(@Nullable ModelUsageProfile profile) {
+        Map<String, Integer> ranks = new HashMap<>();
+        if (profile != null) {
+            for (String modelType : profile.getHotModelTypes()) {
+                ranks.putIfAbsent(modelType, ranks.size());
+            }
+        }
+        return ranks;
+    }
+
+    private static void warmUp(ModelClass<?> modelClass) {
+        // resolves the annotation processors of all injectable elements
+        modelClass.getMetadata();
+        Class<?> type = modelClass.getType();
+        if (type.isInterface()) {
+            // generates and caches the proxy class
+            Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> null);
+        }
+    }
+
+    /**
+     * @return the duration of the last warm-up in milliseconds, -1 if no warm-up has been run yet
+     */
+    long getLastDurationMillis() {
+        return lastDurationMillis;
+    }
+
+    int getLastModelCount() {
+        return lastModelCount;
+    }
+
+    int getLastFailureCount() {
+        return lastFailureCount;
+    }
+
+    int getLastHotModelCount() {
+        return lastHotModelCount;
+    }
+}
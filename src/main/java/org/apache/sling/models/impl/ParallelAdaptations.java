@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Adapts the elements of collections concurrently on a bounded {@link ForkJoinPool}.
+ * The implementation is thread-safe.
+ */
+final class ParallelAdaptations implements Closeable {
+
+    private final ForkJoinPool pool;
+
+    /**
+     * @param parallelism the maximum number of concurrently adapted elements
+     */
+    ParallelAdaptations(int parallelism) {
+        this.pool = new ForkJoinPool(
+                parallelism,
+                p -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                    thread.setName("sling-models-adaptation-" + thread.getPoolIndex());
+                    return thread;
+                },
+                null,
+                false);
+    }
+
+    /**
+     * Adapts all values concurrently. Once an adaptation failed, pending adaptations are skipped.
+     * @param values the values to adapt
+     * @param adapter adapts a single value
+     * @return the list of adapted values in the order of the given values or the first failure in that order
+     */
+    Result<Object> adaptAll(Object[] values, Function<Object, Result<Object>> adapter) {
+        final AtomicBoolean failed = new AtomicBoolean();
+        final List<ForkJoinTask<Result<Object>>> tasks = new ArrayList<>(values.length);
+        for (Object value : values) {
+            ForkJoinTask<Result<Object>> task = ForkJoinTask.adapt(() -> {
+                if (failed.get()) {
+                    return null;
+                }
+                Result<Object> result = adapter.apply(value);
+                if (!result.wasSuccessful()) {
+                    failed.set(true);
+                }
+                return result;
+            });
+            if (ForkJoinTask.getPool() == pool) {
+                // nested adaptation within a worker, joining the task later on helps executing it
+                task.fork();
+            } else {
+                pool.execute(task);
+            }
+            tasks.add(task);
+        }
+
+        final List<Object> adaptedValues = new ArrayList<>(values.length);
+        Result<Object> failure = null;
+        for (ForkJoinTask<Result<Object>> task : tasks) {
+            if (failure != null) {
+                task.cancel(false);
+                continue;
+            }
+            Result<Object> result;
+            try {
+                result = task.join();
+            } catch (RuntimeException e) {
+                failed.set(true);
+                result = new Result<>(e);
+            }
+            if (result == null) {
+                // skipped due to the failure of a later element, which is returned instead
+                continue;
+            }
+            if (result.wasSuccessful()) {
+                adaptedValues.add(result.getValue());
+            } else {
+                failure = result;
+            }
+        }
+        return failure != null ? failure : new Result<>(adaptedValues);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
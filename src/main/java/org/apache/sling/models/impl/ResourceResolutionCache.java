@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.ResourceUtil;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.metatype.annotations.Designate;
+
+/**
+ * Caches resolved resources per {@link ResourceResolver}, including paths which could not be resolved. The cached
+ * entries are stored in the {@link ResourceResolver#getPropertyMap() property map} of the resolver and therefore
+ * released together with the resolver.
+ * <p>
+ * As long as the resolver has pending changes the cache is neither consulted nor filled, and all its entries are
+ * dropped, so that resources created, modified or deleted through the resolver are not served from the cache. A
+ * refresh discards the pending changes, so the entries resolved before are still valid afterwards.
+ * Persisted changes, i.e. commits of this or any other resolver, are observed as resource changes and drop the entries
+ * of all resolvers. As resource changes are delivered asynchronously, a resolver may still see its own entries
+ * resolved before its last commit for a short time. Therefore negative caching is disabled by default, as otherwise
+ * a resource created and committed through the resolver could still be reported as missing.
+ * <p>
+ * The component is only active if configured.
+ */
+@Component(
+        service = {ResourceResolutionCache.class, ResourceChangeListener.class},
+        configurationPolicy = ConfigurationPolicy.REQUIRE,
+        property = ResourceChangeListener.PATHS + "=/")
+@Designate(ocd = ResourceResolutionCacheConfiguration.class)
+public class ResourceResolutionCache implements ResourceChangeListener {
+
+    private static final String PROPERTY_KEY = ResourceResolutionCache.class.getName();
+
+    private static final Object NOT_FOUND = new Object();
+
+    /**
+     * Key prefixes keeping resolutions via the resolver and via a parent apart, as a parent (e.g. a wrapper) may
+     * resolve a child differently than the resolver does for the same path.
+     */
+    private static final String RESOURCE_KEY_PREFIX = "resource:";
+
+    private static final String CHILD_KEY_PREFIX = "child:";
+
+    private int maxEntries = 1000;
+
+    private boolean negativeCachingEnabled;
+
+    /**
+     * Incremented on each persisted change, entries created for an older generation are dropped.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    @Activate
+    protected void activate(final ResourceResolutionCacheConfiguration configuration) {
+        this.maxEntries = configuration.max_entries();
+        this.negativeCachingEnabled = configuration.negative_caching_enabled();
+    }
+
+    /**
+     * @param resolver the resolver
+     * @param path the path to resolve
+     * @return the resource at the given path or {@code null}
+     * @see ResourceResolver#getResource(String)
+     */
+    public @Nullable Resource getResource(final @NotNull ResourceResolver resolver, final @NotNull String path) {
+        return get(resolver, RESOURCE_KEY_PREFIX + path, () -> resolver.getResource(path));
+    }
+
+    /**
+     * @param parent the parent resource
+     * @param relativePath the relative path of the child
+     * @return the child resource or {@code null}
+     * @see Resource#getChild(String)
+     */
+    public @Nullable Resource getChild(final @NotNull Resource parent, final @NotNull String relativePath) {
+        final ResourceResolver resolver = parent.getResourceResolver();
+        if (resolver == null || relativePath.startsWith("/")) {
+            return parent.getChild(relativePath);
+        }
+        final String path = ResourceUtil.normalize(parent.getPath() + "/" + relativePath);
+        if (path == null) {
+            return parent.getChild(relativePath);
+        }
+        return get(resolver, CHILD_KEY_PREFIX + path, () -> parent.getChild(relativePath));
+    }
+
+    @Override
+    public void onChange(final @NotNull List<ResourceChange> changes) {
+        // the entries of each resolver are dropped on their next use
+        generation.incrementAndGet();
+    }
+
+    private @Nullable Resource get(
+            final ResourceResolver resolver, final String key, final Supplier<Resource> resolution) {
+        final Map<String, Object> entries = getEntries(resolver);
+        if (entries == null) {
+            return resolution.get();
+        }
+        Object cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached == NOT_FOUND) {
+            return null;
+        } else if (cached != null) {
+            return (Resource) cached;
+        }
+        final Resource resource = resolution.get();
+        if (resource != null || negativeCachingEnabled) {
+            synchronized (entries) {
+                entries.put(key, resource != null ? resource : NOT_FOUND);
+            }
+        }
+        return resource;
+    }
+
+    private @Nullable Map<String, Object> getEntries(final ResourceResolver resolver) {
+        if (!resolver.isLive()) {
+            return null;
+        }
+        final Map<String, Object> propertyMap = resolver.getPropertyMap();
+        if (propertyMap == null) {
+            return null;
+        }
+        synchronized (propertyMap) {
+            if (resolver.hasChanges()) {
+                // invalidate everything resolved before the changes
+                propertyMap.remove(PROPERTY_KEY);
+                return null;
+            }
+            final long currentGeneration = generation.get();
+            Object entries = propertyMap.get(PROPERTY_KEY);
+            if (!(entries instanceof Entries current) || current.generation != currentGeneration) {
+                // invalidate everything resolved before persisted changes
+                entries = new Entries(maxEntries, currentGeneration);
+                propertyMap.put(PROPERTY_KEY, entries);
+            }
+            return (Entries) entries;
+        }
+    }
+
+    /**
+     * Least recently used entries, access needs to be synchronized on the instance.
+     */
+    private static final class Entries extends LinkedHashMap<String, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxEntries;
+
+        private final long generation;
+
+        private Entries(int maxEntries, long generation) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+            this.generation = generation;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+            return size() > maxEntries;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+@ObjectClassDefinition(
+        name = "Apache Sling Models Resource Resolution Cache",
+        description =
+                "Caches the resources resolved by path injections and child resource via providers per resource resolver. Only active if configured.")
+public @interface ResourceResolutionCacheConfiguration {
+
+    @AttributeDefinition(
+            name = "Maximum Entries",
+            description =
+                    "Maximum number of resolved paths cached per resource resolver. The least recently used entries are evicted first.")
+    int max_entries() default 1000;
+
+    @AttributeDefinition(
+            name = "Negative Caching",
+            description =
+                    "If enabled, paths which could not be resolved are cached as well. As persisted changes are observed asynchronously, a resource created and committed through a resolver may then still be reported as missing by the same resolver for a short time.")
+    boolean negative_caching_enabled() default false;
+}
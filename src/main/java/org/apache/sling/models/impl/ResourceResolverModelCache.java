@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.io.Closeable;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Model cache bound to the lifecycle of a {@link ResourceResolver}. It is stored in the
+ * {@link ResourceResolver#getPropertyMap() property map} of the resolver, which closes it once the resolver is closed.
+ * Closing releases all cached models and calls their disposal callbacks. Disposal callbacks of models which are not
+ * cached are not kept here, as the resolver may be long-lived.
+ */
+final class ResourceResolverModelCache implements Closeable {
+
+    private static final String PROPERTY_KEY = ResourceResolverModelCache.class.getName();
+
+    private final Map<Object, Map<Object, Map<Class<?>, SoftReference<Object>>>> caches =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final List<DisposalCallbackRegistryImpl> registries = new ArrayList<>();
+
+    private boolean closed;
+
+    /**
+     * @param adaptable the adaptable
+     * @return the cache of the resolver of the given resource, {@code null} if the adaptable is no resource or its
+     *     resolver is not available
+     */
+    static @Nullable ResourceResolverModelCache get(final Object adaptable) {
+        if (!(adaptable instanceof Resource resource)) {
+            return null;
+        }
+        final ResourceResolver resolver = resource.getResourceResolver();
+        if (resolver == null || !resolver.isLive()) {
+            return null;
+        }
+        final Map<String, Object> propertyMap = resolver.getPropertyMap();
+        if (propertyMap == null) {
+            return null;
+        }
+        synchronized (propertyMap) {
+            Object cache = propertyMap.get(PROPERTY_KEY);
+            if (cache instanceof ResourceResolverModelCache resolverCache && !resolverCache.isClosed()) {
+                return resolverCache;
+            }
+            ResourceResolverModelCache resolverCache = new ResourceResolverModelCache();
+            propertyMap.put(PROPERTY_KEY, resolverCache);
+            return resolverCache;
+        }
+    }
+
+    /**
+     * @param owner the cache owner as determined by {@link AdaptableCacheKey#getOwner(Object)}
+     * @return the scoped caches of the given owner
+     */
+    @NotNull
+    Map<Object, Map<Class<?>, SoftReference<Object>>> getScopedCaches(final Object owner) {
+        return caches.computeIfAbsent(owner, k -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Registers the disposal callbacks of a cached model to be called once the resolver is closed.
+     * @param registry the registry
+     * @return {@code false} if the cache has already been closed and the registry was not registered
+     */
+    synchronized boolean addDisposalCallbackRegistry(final DisposalCallbackRegistryImpl registry) {
+        if (closed) {
+            return false;
+        }
+        registries.add(registry);
+        return true;
+    }
+
+    synchronized boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        final List<DisposalCallbackRegistryImpl> pending;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending = new ArrayList<>(registries);
+            registries.clear();
+        }
+        caches.clear();
+        for (DisposalCallbackRegistryImpl registry : pending) {
+            registry.onDisposed();
+        }
+    }
+}
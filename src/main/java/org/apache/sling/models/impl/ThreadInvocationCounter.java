@@ -39,4 +39,16 @@ class ThreadInvocationCounter {
     public void decrease() {
         this.count--;
     }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Used to continue counting on a different thread, e.g. when adapting in parallel.
+     * @param count the count
+     */
+    public void setCount(int count) {
+        this.count = count;
+    }
 }
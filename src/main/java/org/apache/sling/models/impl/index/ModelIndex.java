@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl.index;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Index of the candidate model classes contained in a bundle, as persisted by the {@link PersistentModelIndex}.
+ * <p>
+ * The index is a UTF-8 encoded text file with the fully qualified name of one class per line. Lines starting with
+ * {@code #} are comments.
+ */
+public final class ModelIndex {
+
+    private ModelIndex() {
+        // static methods only
+    }
+
+    /**
+     * An indexed class.
+     * @param className the fully qualified name of the class
+     */
+    public record Entry(@NotNull String className) {
+
+        /**
+         * @param packageName the package name
+         * @return {@code true} if the class is contained in the given package or one of its sub packages
+         */
+        public boolean isInPackage(@NotNull String packageName) {
+            return className.startsWith(packageName + ".");
+        }
+    }
+
+    /**
+     * @param in the index
+     * @return the entries of the index
+     * @throws IOException if the index cannot be read
+     */
+    public static @NotNull List<Entry> read(@NotNull Reader in) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(in);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                entries.add(new Entry(line));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * @param entries the entries to write
+     * @param writer the writer
+     * @throws IOException if the index cannot be written
+     */
+    public static void write(@NotNull List<Entry> entries, @NotNull Writer writer) throws IOException {
+        writer.write("# Sling Models index\n");
+        for (Entry entry : entries) {
+            writer.write(entry.className() + "\n");
+        }
+    }
+}
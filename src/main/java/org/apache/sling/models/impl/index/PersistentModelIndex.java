@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl.index;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.osgi.framework.Bundle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of the candidate classes discovered by scanning the packages of a bundle, stored in the data area
+ * of the model implementation bundle. The cache files use the format of the {@link ModelIndex} and are keyed by the
+ * id, symbolic name, version and last modification time of the scanned bundle, so that any update of the bundle
+ * invalidates its entry, while entries of other installed bundles with the same symbolic name are kept.
+ * The implementation is thread-safe as long as each bundle is only processed by one thread at a time.
+ */
+public final class PersistentModelIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PersistentModelIndex.class);
+
+    private static final String SUFFIX = ".txt";
+
+    private final Path directory;
+
+    /**
+     * @param directory the directory holding the cache files, created on demand
+     */
+    public PersistentModelIndex(@NotNull File directory) {
+        this.directory = directory.toPath();
+    }
+
+    /**
+     * @param bundle the bundle
+     * @return the cached entries of the bundle, {@code null} if there is no entry for the current revision of the
+     *     bundle or it cannot be read
+     */
+    public @Nullable List<ModelIndex.Entry> read(@NotNull Bundle bundle) {
+        Path file = getFile(bundle);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return ModelIndex.read(new StringReader(Files.readString(file, StandardCharsets.UTF_8)));
+        } catch (IOException | RuntimeException e) {
+            log.warn(
+                    "Unable to read cached model index of bundle '{}', scanning packages instead: {}",
+                    bundle.getSymbolicName(),
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores the entries for the current revision of the bundle and removes entries of previous revisions.
+     * @param bundle the bundle
+     * @param entries the candidate classes found by scanning the packages of the bundle
+     */
+    public void write(@NotNull Bundle bundle, @NotNull List<ModelIndex.Entry> entries) {
+        Path file = getFile(bundle);
+        try {
+            Files.createDirectories(directory);
+            removeOutdated(bundle, file);
+            Path tempFile = Files.createTempFile(directory, getPrefix(bundle), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                ModelIndex.write(entries, writer);
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to cache model index of bundle '{}': {}", bundle.getSymbolicName(), e.getMessage());
+        }
+    }
+
+    private void removeOutdated(Bundle bundle, Path current) throws IOException {
+        String prefix = getPrefix(bundle);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(prefix) && !file.equals(current)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private Path getFile(Bundle bundle) {
+        // the symbolic name may contain characters which are not allowed in file names
+        String symbolicName = String.valueOf(bundle.getSymbolicName()).replaceAll("[^A-Za-z0-9._-]", "_");
+        return directory.resolve(
+                getPrefix(bundle) + symbolicName + "@" + bundle.getVersion() + "@" + bundle.getLastModified() + SUFFIX);
+    }
+
+    private static String getPrefix(Bundle bundle) {
+        // the separator is never part of the id so that prefixes of different bundles never overlap
+        return bundle.getBundleId() + "@";
+    }
+}
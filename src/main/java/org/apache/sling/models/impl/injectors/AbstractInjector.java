@@ -22,6 +22,7 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.apache.sling.api.SlingJakartaHttpServletRequest;
 import org.apache.sling.api.adapter.Adaptable;
@@ -91,4 +92,17 @@ abstract class AbstractInjector {
         }
         return isCollection;
     }
+
+    /**
+     * @param declaredType the declared type
+     * @return {@code true} if the declared type is a parameterized {@link Iterable} or {@link Stream}, which are
+     *     evaluated lazily
+     */
+    protected boolean isDeclaredTypeLazySequence(Type declaredType) {
+        if (declaredType instanceof ParameterizedType type) {
+            Type rawType = type.getRawType();
+            return rawType.equals(Iterable.class) || rawType.equals(Stream.class);
+        }
+        return false;
+    }
 }
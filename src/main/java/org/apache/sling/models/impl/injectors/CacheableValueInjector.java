@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl.injectors;
+
+/**
+ * Marker interface for {@link org.apache.sling.models.spi.Injector} implementations whose injected values may be
+ * cached and shared between models. This is the case if the injector is free of side effects, i.e. its value only
+ * depends on the injection adaptable, the name and the type, it does not register disposal callbacks and it does not
+ * evaluate the annotated element.
+ * <p>
+ * If the injected value cache of the model adapter factory is enabled, values of such injectors are cached within
+ * the scope of a GET or HEAD request, if the request is the injection adaptable. Only immutable values as well as arrays
+ * and lists are cached, arrays and lists are copied whenever they are taken from the cache.
+ * <p>
+ * This interface is internal, only injectors of this bundle are considered.
+ */
+public interface CacheableValueInjector {}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl.injectors;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang3.StringUtils;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
+import org.osgi.service.metatype.annotations.Designate;
+
+/**
+ * Filter configured for the child resources injected into a single injection point of a model. The filters are picked
+ * up by the {@link ChildResourceInjector}.
+ * <p>
+ * Children are first filtered by resource type and predicate, then the window given by offset and limit is applied
+ * to the remaining children.
+ */
+@Component(service = ChildResourceFilter.class, configurationPolicy = ConfigurationPolicy.REQUIRE)
+@Designate(ocd = ChildResourceFilterConfiguration.class, factory = true)
+public class ChildResourceFilter {
+
+    private String modelClass;
+
+    private String childName;
+
+    private int offset;
+
+    private int limit = -1;
+
+    private String limitProperty;
+
+    private String[] resourceTypes = new String[0];
+
+    private String predicate;
+
+    @Activate
+    protected void activate(final ChildResourceFilterConfiguration configuration) {
+        this.modelClass = configuration.model_class();
+        this.childName = configuration.child_name();
+        this.offset = Math.max(0, configuration.offset());
+        this.limit = configuration.limit();
+        this.limitProperty = StringUtils.trimToNull(configuration.limit_property());
+        if (configuration.resource_types() != null) {
+            this.resourceTypes = configuration.resource_types();
+        }
+        this.predicate = StringUtils.trimToNull(configuration.predicate());
+    }
+
+    /**
+     * @param className the name of the class declaring the injection point
+     * @param name the injection name
+     * @return {@code true} if the filter applies to the given injection point
+     */
+    boolean appliesTo(final String className, final String name) {
+        return StringUtils.equals(modelClass, className) && StringUtils.equals(childName, name);
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    String getLimitProperty() {
+        return limitProperty;
+    }
+
+    String[] getResourceTypes() {
+        return resourceTypes;
+    }
+
+    String getPredicate() {
+        return predicate;
+    }
+
+    @Override
+    public String toString() {
+        return "ChildResourceFilter [modelClass=" + modelClass + ", childName=" + childName + ", offset=" + offset
+                + ", limit=" + limit + ", limitProperty=" + limitProperty + ", resourceTypes="
+                + Arrays.toString(resourceTypes) + ", predicate=" + predicate + "]";
+    }
+}
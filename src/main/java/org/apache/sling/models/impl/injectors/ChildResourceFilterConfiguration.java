@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl.injectors;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+@ObjectClassDefinition(
+        name = "Apache Sling Models Child Resource Filter",
+        description =
+                "Restricts the child resources injected into a collection, Iterable or Stream of a model by the child resource injector. Children are filtered before they are adapted, therefore no models are created for skipped children.")
+public @interface ChildResourceFilterConfiguration {
+
+    @AttributeDefinition(
+            name = "Model Class",
+            description = "Fully qualified name of the class declaring the injection point the filter applies to.")
+    String model_class();
+
+    @AttributeDefinition(
+            name = "Child Name",
+            description = "Name of the injected child resource, i.e. the injection name of the injection point.")
+    String child_name();
+
+    @AttributeDefinition(name = "Offset", description = "The number of matching children to skip.")
+    int offset() default 0;
+
+    @AttributeDefinition(
+            name = "Limit",
+            description = "The maximum number of children to inject, a negative value means unlimited.")
+    int limit() default -1;
+
+    @AttributeDefinition(
+            name = "Limit Property",
+            description =
+                    "Name of a property of the adaptable resource holding the maximum number of children to inject. It takes precedence over the limit if set and the property exists.")
+    String limit_property() default "";
+
+    @AttributeDefinition(
+            name = "Resource Types",
+            description = "The resource types of the children to inject, all children are injected if empty.")
+    String[] resource_types() default {};
+
+    @AttributeDefinition(
+            name = "Predicate",
+            description =
+                    "Name of a java.util.function.Predicate service on resources the children need to match, referenced by its service property sling.models.childResourcePredicate.name. The injection fails if no such service is available.")
+    String predicate() default "";
+}
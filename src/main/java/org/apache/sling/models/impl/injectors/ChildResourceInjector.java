@@ -19,31 +19,66 @@
 package org.apache.sling.models.impl.injectors;
 
 import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.sling.api.SlingJakartaHttpServletRequest;
 import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ValueMap;
 import org.apache.sling.models.annotations.injectorspecific.ChildResource;
 import org.apache.sling.models.annotations.injectorspecific.InjectionStrategy;
+import org.apache.sling.models.impl.ModelCreationMemo;
 import org.apache.sling.models.spi.DisposalCallbackRegistry;
 import org.apache.sling.models.spi.Injector;
 import org.apache.sling.models.spi.injectorspecific.AbstractInjectAnnotationProcessor2;
 import org.apache.sling.models.spi.injectorspecific.InjectAnnotationProcessor2;
 import org.apache.sling.models.spi.injectorspecific.InjectAnnotationProcessorFactory2;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.util.converter.Converters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 @Component(
         property = Constants.SERVICE_RANKING + ":Integer=3000",
         service = {Injector.class, InjectAnnotationProcessorFactory2.class})
 public class ChildResourceInjector extends AbstractInjector implements Injector, InjectAnnotationProcessorFactory2 {
 
+    /**
+     * Service property holding the name a {@link Predicate} service on resources is referenced by from
+     * {@link ChildResourceFilterConfiguration#predicate()}.
+     */
+    public static final String PREDICATE_NAME = "sling.models.childResourcePredicate.name";
+
+    private static final Logger log = LoggerFactory.getLogger(ChildResourceInjector.class);
+
+    private final ConcurrentMap<String, Predicate<Resource>> predicates = new ConcurrentHashMap<>();
+
+    private final List<ChildResourceFilter> filters = new CopyOnWriteArrayList<>();
+
     @Override
     public @NotNull String getName() {
         return "child-resources";
@@ -56,20 +91,70 @@ public class ChildResourceInjector extends AbstractInjector implements Injector,
             @NotNull Type declaredType,
             @NotNull AnnotatedElement element,
             @NotNull DisposalCallbackRegistry callbackRegistry) {
+        return getValue(adaptable, name, declaredType, element, callbackRegistry, null);
+    }
+
+    /**
+     * @param adaptable Adaptable
+     * @param name Name
+     * @param declaredType Declared type
+     * @param element Element
+     * @param callbackRegistry Callback registry
+     * @param memo Values shared by the injections of the current model creation, may be {@code null}
+     * @return Object
+     */
+    public Object getValue(
+            @NotNull Object adaptable,
+            String name,
+            @NotNull Type declaredType,
+            @NotNull AnnotatedElement element,
+            @NotNull DisposalCallbackRegistry callbackRegistry,
+            @Nullable ModelCreationMemo memo) {
         if (adaptable instanceof Resource resource) {
-            Resource child = resource.getChild(name);
+            final Resource child;
+            if (memo != null) {
+                // elements of the same model targeting the same child share the lookup
+                child = memo.memoize(new ChildKey(resource, name), () -> resource.getChild(name));
+            } else {
+                child = resource.getChild(name);
+            }
             if (child != null) {
+                ChildResourceFilter filter = filters.isEmpty() ? null : getFilter(element, name);
+                if (filter != null && declaredType instanceof ParameterizedType parameterizedType) {
+                    return getFilteredChildren(resource, child, parameterizedType, filter);
+                }
                 return getValue(child, declaredType);
             }
         }
         return null;
     }
 
+    private record ChildKey(Resource parent, String name) {}
+
+    private @Nullable ChildResourceFilter getFilter(AnnotatedElement element, String name) {
+        final Class<?> declaringClass;
+        if (element instanceof Member member) {
+            declaringClass = member.getDeclaringClass();
+        } else if (element instanceof Parameter parameter) {
+            declaringClass = parameter.getDeclaringExecutable().getDeclaringClass();
+        } else {
+            return null;
+        }
+        for (ChildResourceFilter filter : filters) {
+            if (filter.appliesTo(declaringClass.getName(), name)) {
+                return filter;
+            }
+        }
+        return null;
+    }
+
     private Object getValue(Resource child, Type declaredType) {
         if (declaredType instanceof Class) {
             return child;
         } else if (isDeclaredTypeCollection(declaredType)) {
             return getResultList(child, declaredType);
+        } else if (isDeclaredTypeLazySequence(declaredType)) {
+            return getLazySequence(child, (ParameterizedType) declaredType);
         } else {
             return null;
         }
@@ -87,6 +172,117 @@ public class ChildResourceInjector extends AbstractInjector implements Injector,
         return result;
     }
 
+    /**
+     * The children are only listed once the returned iterable or stream is iterated.
+     */
+    private Object getLazySequence(Resource resource, ParameterizedType declaredType) {
+        if (declaredType.getRawType().equals(Stream.class)) {
+            return StreamSupport.stream(
+                    () -> Spliterators.spliteratorUnknownSize(resource.listChildren(), Spliterator.ORDERED),
+                    Spliterator.ORDERED,
+                    false);
+        }
+        return resource.getChildren();
+    }
+
+    /**
+     * Children not matching the filter are skipped before they are returned, so no models are created for them.
+     */
+    private Object getFilteredChildren(
+            Resource parent, Resource child, ParameterizedType declaredType, ChildResourceFilter filter) {
+        if (!isDeclaredTypeCollection(declaredType) && !isDeclaredTypeLazySequence(declaredType)) {
+            return null;
+        }
+        Predicate<Resource> predicate = getPredicate(filter);
+        if (predicate == null) {
+            return null;
+        }
+        int offset = filter.getOffset();
+        int limit = getLimit(parent, filter);
+        Supplier<Stream<Resource>> children = () -> {
+            Stream<Resource> stream = StreamSupport.stream(
+                            () -> Spliterators.spliteratorUnknownSize(child.listChildren(), Spliterator.ORDERED),
+                            Spliterator.ORDERED,
+                            false)
+                    .filter(predicate)
+                    .skip(offset);
+            return limit >= 0 ? stream.limit(limit) : stream;
+        };
+        if (declaredType.getRawType().equals(Stream.class)) {
+            return children.get();
+        } else if (declaredType.getRawType().equals(Iterable.class)) {
+            return (Iterable<Resource>) () -> children.get().iterator();
+        }
+        return children.get().collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private @Nullable Predicate<Resource> getPredicate(ChildResourceFilter filter) {
+        Predicate<Resource> predicate = r -> true;
+        String[] resourceTypes = filter.getResourceTypes();
+        if (resourceTypes.length > 0) {
+            predicate = r -> Arrays.stream(resourceTypes).anyMatch(r::isResourceType);
+        }
+        if (filter.getPredicate() != null) {
+            Predicate<Resource> namedPredicate = predicates.get(filter.getPredicate());
+            if (namedPredicate == null) {
+                log.warn("No child resource predicate with name {} available", filter.getPredicate());
+                return null;
+            }
+            predicate = predicate.and(namedPredicate);
+        }
+        return predicate;
+    }
+
+    private int getLimit(Resource parent, ChildResourceFilter filter) {
+        if (filter.getLimitProperty() != null) {
+            ValueMap properties = getValueMap(parent);
+            Integer limit = properties != null ? properties.get(filter.getLimitProperty(), Integer.class) : null;
+            if (limit != null) {
+                return limit;
+            }
+        }
+        return filter.getLimit();
+    }
+
+    @Reference(
+            name = "childResourcePredicate",
+            service = Predicate.class,
+            target = "(" + PREDICATE_NAME + "=*)",
+            cardinality = ReferenceCardinality.MULTIPLE,
+            policy = ReferencePolicy.DYNAMIC)
+    void bindChildResourcePredicate(final Predicate<Resource> predicate, final Map<String, Object> props) {
+        String name = getPredicateName(props);
+        if (name != null) {
+            predicates.put(name, predicate);
+        } else {
+            log.warn("Ignoring child resource predicate without property {}", PREDICATE_NAME);
+        }
+    }
+
+    void unbindChildResourcePredicate(final Predicate<Resource> predicate, final Map<String, Object> props) {
+        String name = getPredicateName(props);
+        if (name != null) {
+            predicates.remove(name, predicate);
+        }
+    }
+
+    @Reference(
+            name = "childResourceFilter",
+            cardinality = ReferenceCardinality.MULTIPLE,
+            policy = ReferencePolicy.DYNAMIC)
+    void bindChildResourceFilter(final ChildResourceFilter filter) {
+        filters.add(filter);
+    }
+
+    void unbindChildResourceFilter(final ChildResourceFilter filter) {
+        filters.remove(filter);
+    }
+
+    private static @Nullable String getPredicateName(final Map<String, Object> props) {
+        Object name = props.get(PREDICATE_NAME);
+        return name != null ? Converters.standardConverter().convert(name).to(String.class) : null;
+    }
+
     private Class<?> getActualType(ParameterizedType declaredType) {
         Type[] types = declaredType.getActualTypeArguments();
         if (types != null && types.length > 0) {
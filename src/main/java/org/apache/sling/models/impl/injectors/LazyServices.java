@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl.injectors;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sling.models.spi.DisposalCallback;
+import org.apache.sling.models.spi.DisposalCallbackRegistry;
+import org.jetbrains.annotations.NotNull;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceObjects;
+import org.osgi.framework.ServiceReference;
+
+/**
+ * Creates service proxies and lists which acquire the services via {@link ServiceObjects} only on first use. Acquired
+ * services are released once the model is disposed.
+ */
+public final class LazyServices {
+
+    private LazyServices() {
+        // static methods only
+    }
+
+    /**
+     * @param value an injected value
+     * @return {@code true} if the value is a list created by {@link #createList}, which only contains services of the
+     *     injected type and must not be accessed during injection
+     */
+    public static boolean isLazyList(Object value) {
+        return value instanceof LazyServiceList;
+    }
+
+    /**
+     * @param type the service interface
+     * @param refs the candidate service references sorted by reverse service ranking, must not be empty
+     * @param modelContext the bundle context of the model
+     * @param callbackRegistry the registry to release the service with
+     * @return a proxy implementing the service interface
+     */
+    static Object createProxy(
+            @NotNull Class<?> type,
+            @NotNull ServiceReference<?>[] refs,
+            @NotNull BundleContext modelContext,
+            @NotNull DisposalCallbackRegistry callbackRegistry) {
+        LazyService handler = new LazyService(type, refs, modelContext);
+        callbackRegistry.addDisposalCallback(handler);
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    /**
+     * @param refs the service references sorted by reverse service ranking
+     * @param modelContext the bundle context of the model
+     * @param callbackRegistry the registry to release the services with
+     * @return a list acquiring all services on first access
+     */
+    static List<Object> createList(
+            @NotNull ServiceReference<?>[] refs,
+            @NotNull BundleContext modelContext,
+            @NotNull DisposalCallbackRegistry callbackRegistry) {
+        LazyServiceList list = new LazyServiceList(refs, modelContext);
+        callbackRegistry.addDisposalCallback(list);
+        return list;
+    }
+
+    /**
+     * A service acquired from its service objects.
+     */
+    private record AcquiredService(ServiceObjects<Object> serviceObjects, Object service) {
+
+        static AcquiredService acquire(BundleContext context, ServiceReference<?> ref) {
+            @SuppressWarnings("unchecked")
+            ServiceObjects<Object> serviceObjects = context.getServiceObjects((ServiceReference<Object>) ref);
+            if (serviceObjects == null) {
+                return null;
+            }
+            Object service = serviceObjects.getService();
+            return service != null ? new AcquiredService(serviceObjects, service) : null;
+        }
+
+        void release() {
+            try {
+                serviceObjects.ungetService(service);
+            } catch (IllegalStateException | IllegalArgumentException exception) {
+                // SLING-11132 - This exception is expected when BundleContext is no longer valid.
+            }
+        }
+    }
+
+    private static final class LazyService implements InvocationHandler, DisposalCallback {
+
+        private final Class<?> type;
+        private final ServiceReference<?>[] refs;
+        private final BundleContext context;
+        private volatile AcquiredService acquired;
+        private boolean disposed;
+
+        LazyService(Class<?> type, ServiceReference<?>[] refs, BundleContext context) {
+            this.type = type;
+            this.refs = refs;
+            this.context = context;
+        }
+
+        private Object getService() {
+            AcquiredService current = acquired;
+            if (current == null) {
+                synchronized (this) {
+                    if (disposed) {
+                        throw new IllegalStateException("Service " + type.getName() + " used after model disposal");
+                    }
+                    current = acquired;
+                    if (current == null) {
+                        // use the highest ranked service which is still available
+                        for (ServiceReference<?> ref : refs) {
+                            current = AcquiredService.acquire(context, ref);
+                            if (current != null) {
+                                break;
+                            }
+                        }
+                        if (current == null) {
+                            throw new IllegalStateException("Service " + type.getName() + " is no longer available");
+                        }
+                        acquired = current;
+                    }
+                }
+            }
+            return current.service();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                // equals, hashCode and toString must not acquire the service
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "Lazy service proxy for " + type.getName();
+                };
+            }
+            try {
+                return method.invoke(getService(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        @Override
+        public synchronized void onDisposed() {
+            disposed = true;
+            if (acquired != null) {
+                acquired.release();
+                acquired = null;
+            }
+        }
+    }
+
+    private static final class LazyServiceList extends AbstractList<Object> implements DisposalCallback {
+
+        private final ServiceReference<?>[] refs;
+        private final BundleContext context;
+        private List<AcquiredService> acquired;
+
+        LazyServiceList(ServiceReference<?>[] refs, BundleContext context) {
+            this.refs = refs;
+            this.context = context;
+        }
+
+        private synchronized List<AcquiredService> getServices() {
+            if (acquired == null) {
+                List<AcquiredService> services = new ArrayList<>(refs.length);
+                for (ServiceReference<?> ref : refs) {
+                    AcquiredService service = AcquiredService.acquire(context, ref);
+                    if (service != null) {
+                        services.add(service);
+                    }
+                }
+                acquired = services;
+            }
+            return acquired;
+        }
+
+        @Override
+        public Object get(int index) {
+            return getServices().get(index).service();
+        }
+
+        @Override
+        public int size() {
+            return getServices().size();
+        }
+
+        @Override
+        public synchronized void onDisposed() {
+            if (acquired != null) {
+                acquired.forEach(AcquiredService::release);
+            }
+            // never acquire services after disposal
+            acquired = List.of();
+        }
+    }
+}
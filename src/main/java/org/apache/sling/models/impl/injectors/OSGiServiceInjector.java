@@ -47,28 +47,52 @@ import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Component(
         property = Constants.SERVICE_RANKING + ":Integer=5000",
         service = {Injector.class, StaticInjectAnnotationProcessorFactory.class, AcceptsNullName.class})
+@Designate(ocd = OSGiServiceInjectorConfiguration.class)
 public class OSGiServiceInjector implements Injector, StaticInjectAnnotationProcessorFactory, AcceptsNullName {
 
     private static final Logger log = LoggerFactory.getLogger(OSGiServiceInjector.class);
 
     private BundleContext bundleContext;
 
+    private ServiceReferenceTrackers serviceReferenceTrackers;
+
+    private boolean lazyServiceProxiesEnabled;
+
     @Override
     public @NotNull String getName() {
         return "osgi-services";
     }
 
-    @Activate
     public void activate(BundleContext ctx) {
         this.bundleContext = ctx;
     }
 
+    // not named activate, as DS would prefer the overload only taking the bundle context
+    @Activate
+    public void activateWithConfiguration(BundleContext ctx, OSGiServiceInjectorConfiguration configuration) {
+        activate(ctx);
+        if (configuration.service_tracking_enabled()) {
+            this.serviceReferenceTrackers = new ServiceReferenceTrackers(ctx);
+        }
+        this.lazyServiceProxiesEnabled = configuration.lazy_service_proxies_enabled();
+    }
+
+    @Deactivate
+    public void deactivate() {
+        if (serviceReferenceTrackers != null) {
+            serviceReferenceTrackers.close();
+            serviceReferenceTrackers = null;
+        }
+    }
+
     @Override
     public Object getValue(
             @NotNull Object adaptable,
@@ -121,12 +145,9 @@ public class OSGiServiceInjector implements Injector, StaticInjectAnnotationProc
         // cannot use SlingScriptHelper since it does not support ordering by service ranking due to
         // https://issues.apache.org/jira/browse/SLING-5665
         try {
-            ServiceReference<?>[] refs = modelContext.getServiceReferences(type.getName(), filter);
+            ServiceReference<?>[] refs = getSortedServiceReferences(type, filter, modelContext);
             if (refs != null && refs.length > 0) {
-                // sort by reverse service ranking (highest first) (see ServiceReference.compareTo)
-                List<ServiceReference<?>> references = Arrays.asList(refs);
-                Collections.sort(references, Collections.reverseOrder());
-                for (final ServiceReference<?> ref : references) {
+                for (final ServiceReference<?> ref : refs) {
                     final Object obj = modelContext.getService(ref);
                     if (obj != null) {
                         callbackRegistry.addDisposalCallback(new Callback(new ServiceReference[] {ref}, modelContext));
@@ -149,14 +170,11 @@ public class OSGiServiceInjector implements Injector, StaticInjectAnnotationProc
         // cannot use SlingScriptHelper since it does not support ordering by service ranking due to
         // https://issues.apache.org/jira/browse/SLING-5665
         try {
-            ServiceReference<?>[] refs = modelContext.getServiceReferences(type.getName(), filter);
+            ServiceReference<?>[] refs = getSortedServiceReferences(type, filter, modelContext);
             if (refs != null && refs.length > 0) {
-                // sort by reverse service ranking (highest first) (see ServiceReference.compareTo)
-                List<ServiceReference<?>> references = Arrays.asList(refs);
-                Collections.sort(references, Collections.reverseOrder());
                 List<Object> services = new ArrayList<>();
                 List<ServiceReference<?>> usedRefs = new ArrayList<>();
-                for (ServiceReference<?> ref : references) {
+                for (ServiceReference<?> ref : refs) {
                     Object service = modelContext.getService(ref);
                     if (service != null) {
                         services.add(service);
@@ -175,6 +193,36 @@ public class OSGiServiceInjector implements Injector, StaticInjectAnnotationProc
         return null;
     }
 
+    /**
+     * @return the service references sorted by reverse service ranking (highest first), may be {@code null}
+     */
+    private ServiceReference<?>[] getSortedServiceReferences(Class<?> type, String filter, BundleContext modelContext)
+            throws InvalidSyntaxException {
+        ServiceReferenceTrackers trackers = this.serviceReferenceTrackers;
+        if (trackers != null) {
+            return trackers.getSortedReferences(modelContext, type.getName(), filter);
+        }
+        ServiceReference<?>[] refs = modelContext.getServiceReferences(type.getName(), filter);
+        if (refs != null && refs.length > 1) {
+            // sort by reverse service ranking (highest first) (see ServiceReference.compareTo)
+            Arrays.sort(refs, Collections.reverseOrder());
+        }
+        return refs;
+    }
+
+    /**
+     * @return the service references for a lazy injection, {@code null} if there is no matching service
+     */
+    private ServiceReference<?>[] getLazyServiceReferences(Class<?> type, String filter, BundleContext modelContext) {
+        try {
+            ServiceReference<?>[] refs = getSortedServiceReferences(type, filter, modelContext);
+            return refs != null && refs.length > 0 ? refs : null;
+        } catch (InvalidSyntaxException e) {
+            log.error("invalid filter expression", e);
+            return null;
+        }
+    }
+
     private Object getValue(
             Object adaptable,
             Type type,
@@ -194,6 +242,11 @@ public class OSGiServiceInjector implements Injector, StaticInjectAnnotationProc
                     Array.set(arr, i, services[i]);
                 }
                 return arr;
+            } else if (lazyServiceProxiesEnabled && injectedClass.isInterface()) {
+                ServiceReference<?>[] refs = getLazyServiceReferences(injectedClass, filterString, modelContext);
+                return refs != null
+                        ? LazyServices.createProxy(injectedClass, refs, modelContext, callbackRegistry)
+                        : null;
             } else {
                 return getService(adaptable, injectedClass, filterString, callbackRegistry, modelContext);
             }
@@ -208,6 +261,10 @@ public class OSGiServiceInjector implements Injector, StaticInjectAnnotationProc
             }
 
             Class<?> serviceType = (Class<?>) ptype.getActualTypeArguments()[0];
+            if (lazyServiceProxiesEnabled) {
+                ServiceReference<?>[] refs = getLazyServiceReferences(serviceType, filterString, modelContext);
+                return refs != null ? LazyServices.createList(refs, modelContext, callbackRegistry) : null;
+            }
             Object[] services = getServices(adaptable, serviceType, filterString, callbackRegistry, modelContext);
             if (services == null) {
                 return null;
@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl.injectors;
+
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+
+@ObjectClassDefinition(name = "Apache Sling Models OSGi Service Injector")
+public @interface OSGiServiceInjectorConfiguration {
+
+    @AttributeDefinition(
+            name = "Service Tracking",
+            description =
+                    "If enabled, the service references for each model bundle, service type and filter are tracked and kept sorted by service ranking instead of being looked up in the service registry for every injection.")
+    boolean service_tracking_enabled() default false;
+
+    @AttributeDefinition(
+            name = "Lazy Service Proxies",
+            description =
+                    "If enabled, services injected into fields of an interface type are injected as proxies which get the service only on first use, and injected lists of services get the services only on first access. Service arrays are always injected eagerly.")
+    boolean lazy_service_proxies_enabled() default false;
+}
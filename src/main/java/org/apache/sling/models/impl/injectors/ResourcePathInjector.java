@@ -31,6 +31,7 @@ import org.apache.sling.api.resource.ValueMap;
 import org.apache.sling.models.annotations.Path;
 import org.apache.sling.models.annotations.injectorspecific.InjectionStrategy;
 import org.apache.sling.models.annotations.injectorspecific.ResourcePath;
+import org.apache.sling.models.impl.ResourceResolutionCache;
 import org.apache.sling.models.spi.AcceptsNullName;
 import org.apache.sling.models.spi.DisposalCallbackRegistry;
 import org.apache.sling.models.spi.Injector;
@@ -40,6 +41,10 @@ import org.apache.sling.models.spi.injectorspecific.StaticInjectAnnotationProces
 import org.jetbrains.annotations.NotNull;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +56,12 @@ public class ResourcePathInjector extends AbstractInjector
 
     private static final Logger LOG = LoggerFactory.getLogger(ResourcePathInjector.class);
 
+    @Reference(
+            cardinality = ReferenceCardinality.OPTIONAL,
+            policy = ReferencePolicy.DYNAMIC,
+            policyOption = ReferencePolicyOption.GREEDY)
+    private volatile ResourceResolutionCache resolutionCache;
+
     @Override
     public @NotNull String getName() {
         return "resource-path";
@@ -112,8 +123,9 @@ public class ResourcePathInjector extends AbstractInjector
 
     private List<Resource> getResources(ResourceResolver resolver, String[] paths, String fieldName) {
         List<Resource> resources = new ArrayList<>();
+        ResourceResolutionCache cache = this.resolutionCache;
         for (String path : paths) {
-            Resource resource = resolver.getResource(path);
+            Resource resource = cache != null ? cache.getResource(resolver, path) : resolver.getResource(path);
             if (resource != null) {
                 resources.add(resource);
             } else {
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl.injectors;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.Constants;
+import org.osgi.framework.Filter;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
+import org.osgi.framework.SynchronousBundleListener;
+import org.osgi.util.tracker.ServiceTracker;
+
+/**
+ * Keeps snapshots of the service references per bundle context, service type and filter, sorted by reverse service
+ * ranking (highest first). The snapshots are maintained by service trackers, so looking up the references neither
+ * parses the filter nor queries the service registry. The trackers select the references by their objectClass property
+ * and are opened with the bundle context of the model, so like with
+ * {@link BundleContext#getServiceReferences(String, String)} the framework only hands out references whose service
+ * type is assignable for the model bundle. Trackers of a bundle are closed once the bundle stops, while it is not
+ * active the service registry is queried directly.
+ * The implementation is thread-safe.
+ */
+final class ServiceReferenceTrackers implements SynchronousBundleListener {
+
+    private static final ServiceReference<?>[] EMPTY = new ServiceReference<?>[0];
+
+    private final BundleContext bundleContext;
+
+    private final ConcurrentMap<TrackerKey, SortedReferencesTracker> trackers = new ConcurrentHashMap<>();
+
+    /**
+     * @param bundleContext the bundle context used to listen for stopping bundles
+     */
+    ServiceReferenceTrackers(@NotNull BundleContext bundleContext) {
+        this.bundleContext = bundleContext;
+        bundleContext.addBundleListener(this);
+    }
+
+    /**
+     * @param modelContext the bundle context of the model
+     * @param type the service type
+     * @param filter the additional filter, may be {@code null}
+     * @return the service references sorted by reverse service ranking, the returned array must not be modified
+     * @throws InvalidSyntaxException if the filter is invalid
+     */
+    @NotNull
+    ServiceReference<?>[] getSortedReferences(
+            @NotNull BundleContext modelContext, @NotNull String type, @Nullable String filter)
+            throws InvalidSyntaxException {
+        final TrackerKey key = new TrackerKey(modelContext, type, filter);
+        SortedReferencesTracker tracker = trackers.get(key);
+        if (tracker == null) {
+            final Bundle bundle = modelContext.getBundle();
+            if (!isActive(bundle)) {
+                // never create trackers for a stopping bundle, they would not be closed anymore
+                return getReferences(modelContext, type, filter);
+            }
+            final SortedReferencesTracker newTracker =
+                    new SortedReferencesTracker(modelContext, bundle, createFilter(modelContext, type, filter));
+            // open before publishing, so that no caller sees the tracker before its initial snapshot is available
+            newTracker.open();
+            tracker = trackers.putIfAbsent(key, newTracker);
+            if (tracker == null) {
+                tracker = newTracker;
+                if (!isActive(bundle) && trackers.remove(key, newTracker)) {
+                    // the bundle started stopping concurrently
+                    closeQuietly(newTracker);
+                }
+            } else {
+                closeQuietly(newTracker);
+            }
+        }
+        return tracker.getSnapshot();
+    }
+
+    private static boolean isActive(Bundle bundle) {
+        return (bundle.getState() & (Bundle.STARTING | Bundle.ACTIVE)) != 0;
+    }
+
+    private static ServiceReference<?>[] getReferences(BundleContext context, String type, String filter)
+            throws InvalidSyntaxException {
+        final ServiceReference<?>[] references = context.getServiceReferences(type, filter);
+        if (references == null) {
+            return EMPTY;
+        }
+        Arrays.sort(references, Collections.reverseOrder());
+        return references;
+    }
+
+    private static Filter createFilter(BundleContext context, String type, String filter)
+            throws InvalidSyntaxException {
+        final String objectClassFilter = "(" + Constants.OBJECTCLASS + "=" + type + ")";
+        if (filter == null) {
+            return context.createFilter(objectClassFilter);
+        }
+        return context.createFilter("(&" + objectClassFilter + filter + ")");
+    }
+
+    @Override
+    public void bundleChanged(BundleEvent event) {
+        if (event.getType() == BundleEvent.STOPPING) {
+            final Bundle bundle = event.getBundle();
+            trackers.entrySet().removeIf(entry -> {
+                if (entry.getValue().bundle == bundle) {
+                    closeQuietly(entry.getValue());
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    /**
+     * Closes all trackers and stops listening for bundle events.
+     */
+    void close() {
+        try {
+            bundleContext.removeBundleListener(this);
+        } catch (IllegalStateException e) {
+            // bundle context is no longer valid
+        }
+        trackers.values().forEach(ServiceReferenceTrackers::closeQuietly);
+        trackers.clear();
+    }
+
+    private static void closeQuietly(SortedReferencesTracker tracker) {
+        try {
+            tracker.close();
+        } catch (IllegalStateException e) {
+            // bundle context of the model is no longer valid
+        }
+    }
+
+    private record TrackerKey(BundleContext context, String type, String filter) {}
+
+    /**
+     * Tracks service references without getting the services and keeps a sorted snapshot of them.
+     */
+    private static final class SortedReferencesTracker extends ServiceTracker<Object, ServiceReference<Object>> {
+
+        private final Bundle bundle;
+
+        private final Object lock = new Object();
+
+        private volatile ServiceReference<?>[] snapshot = EMPTY;
+
+        SortedReferencesTracker(BundleContext context, Bundle bundle, Filter filter) {
+            super(context, filter, null);
+            this.bundle = bundle;
+        }
+
+        ServiceReference<?>[] getSnapshot() {
+            return snapshot;
+        }
+
+        @Override
+        public ServiceReference<Object> addingService(ServiceReference<Object> reference) {
+            synchronized (lock) {
+                snapshot = insert(snapshot, reference);
+            }
+            return reference;
+        }
+
+        @Override
+        public void modifiedService(ServiceReference<Object> reference, ServiceReference<Object> service) {
+            // the service ranking may have changed
+            synchronized (lock) {
+                snapshot = insert(remove(snapshot, reference), reference);
+            }
+        }
+
+        @Override
+        public void removedService(ServiceReference<Object> reference, ServiceReference<Object> service) {
+            synchronized (lock) {
+                snapshot = remove(snapshot, reference);
+            }
+        }
+
+        private static ServiceReference<?>[] insert(ServiceReference<?>[] references, ServiceReference<?> reference) {
+            int index = Arrays.binarySearch(references, reference, Collections.reverseOrder());
+            if (index >= 0) {
+                return references;
+            }
+            index = -index - 1;
+            final ServiceReference<?>[] result = new ServiceReference<?>[references.length + 1];
+            System.arraycopy(references, 0, result, 0, index);
+            result[index] = reference;
+            System.arraycopy(references, index, result, index + 1, references.length - index);
+            return result;
+        }
+
+        private static ServiceReference<?>[] remove(ServiceReference<?>[] references, ServiceReference<?> reference) {
+            for (int i = 0; i < references.length; i++) {
+                if (references[i].equals(reference)) {
+                    final ServiceReference<?>[] result = new ServiceReference<?>[references.length - 1];
+                    System.arraycopy(references, 0, result, 0, i);
+                    System.arraycopy(references, i + 1, result, i, references.length - i - 1);
+                    return result;
+                }
+            }
+            return references;
+        }
+    }
+}
@@ -49,7 +49,7 @@ import org.slf4j.LoggerFactory;
         service = {Injector.class, InjectAnnotationProcessorFactory.class, ValuePreparer.class})
 @SuppressWarnings("deprecation")
 public class ValueMapInjector extends AbstractInjector
-        implements Injector, InjectAnnotationProcessorFactory, ValuePreparer {
+        implements Injector, InjectAnnotationProcessorFactory, ValuePreparer, CacheableValueInjector {
 
     private static final Logger log = LoggerFactory.getLogger(ValueMapInjector.class);
 
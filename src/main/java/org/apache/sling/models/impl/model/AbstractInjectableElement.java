@@ -60,6 +60,7 @@ abstract class AbstractInjectableElement implements InjectableElement {
     private final boolean isRequired;
     private final DefaultInjectionStrategy injectionStrategy;
     private final DefaultInjectionStrategy defaultInjectionStrategy;
+    private final StaticInjectAnnotationProcessorFactory processorFactory;
 
     private static final Logger log = LoggerFactory.getLogger(ModelAdapterFactory.class);
 
@@ -71,7 +72,16 @@ abstract class AbstractInjectableElement implements InjectableElement {
             DefaultInjectionStrategy defaultInjectionStrategy) {
         this.element = element;
         this.type = type;
-        InjectAnnotationProcessor2 annotationProcessor = getAnnotationProcessor(element, processorFactories);
+        StaticInjectAnnotationProcessorFactory annotationProcessorFactory = null;
+        InjectAnnotationProcessor2 annotationProcessor = null;
+        for (StaticInjectAnnotationProcessorFactory processorFactory : processorFactories) {
+            annotationProcessor = processorFactory.createAnnotationProcessor(element);
+            if (annotationProcessor != null) {
+                annotationProcessorFactory = processorFactory;
+                break;
+            }
+        }
+        this.processorFactory = annotationProcessorFactory;
         this.name = getName(element, defaultName, annotationProcessor);
         this.source = getSource(element);
         this.via = getVia(element, annotationProcessor);
@@ -83,15 +93,12 @@ abstract class AbstractInjectableElement implements InjectableElement {
         this.defaultInjectionStrategy = defaultInjectionStrategy;
     }
 
-    private static InjectAnnotationProcessor2 getAnnotationProcessor(
-            AnnotatedElement element, StaticInjectAnnotationProcessorFactory[] processorFactories) {
-        for (StaticInjectAnnotationProcessorFactory processorFactory : processorFactories) {
-            InjectAnnotationProcessor2 annotationProcessor = processorFactory.createAnnotationProcessor(element);
-            if (annotationProcessor != null) {
-                return annotationProcessor;
-            }
-        }
-        return null;
+    /**
+     * @return the factory which created the annotation processor of this element, {@code null} if none did
+     */
+    @Nullable
+    StaticInjectAnnotationProcessorFactory getProcessorFactory() {
+        return processorFactory;
     }
 
     @SuppressWarnings("unused")
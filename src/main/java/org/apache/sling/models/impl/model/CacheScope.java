@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl.model;
+
+/**
+ * Scope in which the instances of a cached model are kept.
+ */
+public enum CacheScope {
+
+    /**
+     * Models adapted from requests are cached for the request, other models in the shared cache or in the cache of
+     * the resource resolver if enabled globally.
+     */
+    DEFAULT,
+
+    /**
+     * Only models adapted from requests are cached (for the request).
+     */
+    REQUEST,
+
+    /**
+     * Models adapted from requests are cached for the request, models adapted from resources until their resource
+     * resolver is closed. Models adapted from other adaptables are not cached.
+     */
+    RESOLVER,
+
+    /**
+     * Models adapted from requests are cached for the request, all other models in the shared cache.
+     */
+    SHARED
+}
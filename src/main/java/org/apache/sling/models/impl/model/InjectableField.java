@@ -54,6 +54,10 @@ public class InjectableField extends AbstractInjectableElement {
         return null;
     }
 
+    public Field getField() {
+        return field;
+    }
+
     public boolean isPrimitive() {
         return false;
     }
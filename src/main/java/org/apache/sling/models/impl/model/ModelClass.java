@@ -21,24 +21,63 @@ package org.apache.sling.models.impl.model;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.apache.commons.lang3.ArrayUtils;
 import org.apache.sling.models.annotations.DefaultInjectionStrategy;
 import org.apache.sling.models.annotations.Model;
+import org.apache.sling.models.factory.ModelClassException;
 import org.apache.sling.models.impl.ReflectionUtil;
 import org.apache.sling.models.spi.injectorspecific.StaticInjectAnnotationProcessorFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public class ModelClass<ModelType> {
 
     private final Class<ModelType> type;
     private final Model modelAnnotation;
     final DefaultInjectionStrategy defaultInjectionStrategy;
-    private volatile ModelClassConstructor<ModelType>[] constructors;
-    private volatile InjectableField[] injectableFields;
-    private volatile InjectableMethod[] injectableMethods;
+    private StaticInjectAnnotationProcessorFactory[] processorFactories;
+    private volatile int generation;
+    private volatile Snapshot<ModelType> snapshot;
+    private volatile CachePolicy cachePolicy;
+
+    /**
+     * The reflection based metadata of a model class.
+     * @param constructors the constructors, empty for interfaces
+     * @param injectableFields the injectable fields, empty for interfaces and records
+     * @param injectableMethods the injectable methods, empty for classes
+     */
+    public record Metadata<T>(
+            ModelClassConstructor<T>[] constructors,
+            InjectableField[] injectableFields,
+            InjectableMethod[] injectableMethods) {}
+
+    /**
+     * The metadata or the failure to build it, published as a whole.
+     * @param generation the generation of the processor factories the metadata was built for
+     * @param failure the cause why the metadata could not be built
+     */
+    private record Snapshot<T>(
+            int generation,
+            StaticInjectAnnotationProcessorFactory[] processorFactories,
+            Metadata<T> metadata,
+            Throwable failure) {}
 
     public ModelClass(Class<ModelType> type, StaticInjectAnnotationProcessorFactory[] processorFactories) {
+        this(type, processorFactories, false);
+    }
+
+    /**
+     * @param type the model type
+     * @param processorFactories Static injector annotation processor factories
+     * @param lazy {@code true} to defer reflecting on constructors, fields and methods until their first use,
+     *     {@code false} to reflect on them immediately, which throws on any reflection issue
+     */
+    public ModelClass(
+            Class<ModelType> type, StaticInjectAnnotationProcessorFactory[] processorFactories, boolean lazy) {
         this.type = type;
         this.modelAnnotation = type.getAnnotation(Model.class);
         if (modelAnnotation == null) {
@@ -46,17 +85,172 @@ public class ModelClass<ModelType> {
         } else {
             defaultInjectionStrategy = modelAnnotation.defaultInjectionStrategy();
         }
-        updateProcessorFactories(processorFactories);
+        this.processorFactories = processorFactories;
+        if (!lazy) {
+            this.snapshot = new Snapshot<>(0, processorFactories, buildMetadata(processorFactories), null);
+        }
+        updateCachePolicy(null);
     }
 
     /**
-     * Updates processor factories after the model class was instantiated.
+     * Updates processor factories after the model class was instantiated. This only marks the metadata as stale, it is
+     * updated on its next use.
      * @param processorFactories Static injector annotation processor factories
      */
-    public void updateProcessorFactories(StaticInjectAnnotationProcessorFactory[] processorFactories) {
-        this.constructors = getConstructors(type, processorFactories, defaultInjectionStrategy);
-        this.injectableFields = getInjectableFields(type, processorFactories, defaultInjectionStrategy);
-        this.injectableMethods = getInjectableMethods(type, processorFactories, defaultInjectionStrategy);
+    public synchronized void updateProcessorFactories(StaticInjectAnnotationProcessorFactory[] processorFactories) {
+        this.processorFactories = processorFactories;
+        this.generation = generation + 1;
+    }
+
+    /**
+     * Returns the metadata for the current processor factories, building it unless already done. As the metadata is
+     * rebuilt whenever the processor factories change, the creation of a model should only fetch it once.
+     * @return the metadata
+     * @throws ModelClassException if the model class cannot be reflected on
+     */
+    public @NotNull Metadata<ModelType> getMetadata() {
+        Snapshot<ModelType> current = snapshot;
+        if (current == null || current.generation() != generation) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || current.generation() != generation) {
+                    current = buildSnapshot(current);
+                    snapshot = current;
+                }
+            }
+        }
+        if (current.failure() != null) {
+            throw new ModelClassException("Unable to reflect on " + type.getName(), current.failure());
+        }
+        return current.metadata();
+    }
+
+    private Snapshot<ModelType> buildSnapshot(@Nullable Snapshot<ModelType> previous) {
+        try {
+            if (previous != null && previous.failure() == null) {
+                FactoryChanges changed = getFactoryChanges(previous.processorFactories(), processorFactories);
+                if (changed != null) {
+                    Metadata<ModelType> metadata = previous.metadata();
+                    return new Snapshot<>(
+                            generation,
+                            processorFactories,
+                            new Metadata<>(
+                                    updateConstructors(metadata.constructors(), changed),
+                                    updateInjectableFields(metadata.injectableFields(), changed),
+                                    updateInjectableMethods(metadata.injectableMethods(), changed)),
+                            null);
+                }
+            }
+            return new Snapshot<>(generation, processorFactories, buildMetadata(processorFactories), null);
+        } catch (RuntimeException | LinkageError e) {
+            // remember the failure to not reflect on the broken class again on every adaptation
+            return new Snapshot<>(generation, processorFactories, null, e);
+        }
+    }
+
+    private Metadata<ModelType> buildMetadata(StaticInjectAnnotationProcessorFactory[] processorFactories) {
+        return new Metadata<>(
+                getConstructors(type, processorFactories, defaultInjectionStrategy),
+                getInjectableFields(type, processorFactories, defaultInjectionStrategy),
+                getInjectableMethods(type, processorFactories, defaultInjectionStrategy));
+    }
+
+    /**
+     * The processor factories which have been added or removed.
+     */
+    private record FactoryChanges(
+            List<StaticInjectAnnotationProcessorFactory> added, List<StaticInjectAnnotationProcessorFactory> removed) {
+
+        /**
+         * @return {@code true} if the annotation processor of the given element may differ with the current factories
+         */
+        private boolean isAffected(AbstractInjectableElement element) {
+            // elements whose processor stems from a removed factory fall back to the next matching factory
+            if (element.getProcessorFactory() != null && removed.contains(element.getProcessorFactory())) {
+                return true;
+            }
+            // the processors of other elements can only change if an added factory handles them
+            for (StaticInjectAnnotationProcessorFactory factory : added) {
+                if (factory.createAnnotationProcessor(element.getAnnotatedElement()) != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @return the factories which have been added or removed, {@code null} if the order of the remaining factories
+     *     changed, which requires rebuilding all elements
+     */
+    private static @Nullable FactoryChanges getFactoryChanges(
+            StaticInjectAnnotationProcessorFactory[] previous, StaticInjectAnnotationProcessorFactory[] current) {
+        List<StaticInjectAnnotationProcessorFactory> added = new ArrayList<>();
+        List<StaticInjectAnnotationProcessorFactory> removed = new ArrayList<>();
+        List<StaticInjectAnnotationProcessorFactory> previousRemaining = new ArrayList<>();
+        List<StaticInjectAnnotationProcessorFactory> currentRemaining = new ArrayList<>();
+        for (StaticInjectAnnotationProcessorFactory factory : previous) {
+            if (ArrayUtils.contains(current, factory)) {
+                previousRemaining.add(factory);
+            } else {
+                removed.add(factory);
+            }
+        }
+        for (StaticInjectAnnotationProcessorFactory factory : current) {
+            if (ArrayUtils.contains(previous, factory)) {
+                currentRemaining.add(factory);
+            } else {
+                added.add(factory);
+            }
+        }
+        return previousRemaining.equals(currentRemaining) ? new FactoryChanges(added, removed) : null;
+    }
+
+    private ModelClassConstructor<ModelType>[] updateConstructors(
+            ModelClassConstructor<ModelType>[] previous, FactoryChanges changed) {
+        ModelClassConstructor<ModelType>[] array = previous.clone();
+        for (int i = 0; i < array.length; i++) {
+            for (ConstructorParameter parameter : array[i].getConstructorParameters()) {
+                if (changed.isAffected(parameter)) {
+                    array[i] = new ModelClassConstructor<>(
+                            array[i].getConstructor(), processorFactories, defaultInjectionStrategy);
+                    break;
+                }
+            }
+        }
+        return array;
+    }
+
+    private InjectableField[] updateInjectableFields(InjectableField[] previous, FactoryChanges changed) {
+        InjectableField[] array = previous.clone();
+        for (int i = 0; i < array.length; i++) {
+            if (changed.isAffected(array[i])) {
+                array[i] = new InjectableField(array[i].getField(), processorFactories, defaultInjectionStrategy);
+            }
+        }
+        return array;
+    }
+
+    private InjectableMethod[] updateInjectableMethods(InjectableMethod[] previous, FactoryChanges changed) {
+        InjectableMethod[] array = previous.clone();
+        for (int i = 0; i < array.length; i++) {
+            if (changed.isAffected(array[i])) {
+                array[i] = new InjectableMethod(array[i].getMethod(), processorFactories, defaultInjectionStrategy);
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Updates the cache policy after the model class was instantiated.
+     * @param override the cache policy overriding the one of the model annotation, {@code null} to reset it
+     */
+    public void updateCachePolicy(@Nullable CachePolicy override) {
+        if (override != null) {
+            this.cachePolicy = override;
+        } else {
+            this.cachePolicy = new CachePolicy(modelAnnotation != null && modelAnnotation.cache(), CacheScope.DEFAULT);
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -122,15 +316,22 @@ public class ModelClass<ModelType> {
         return this.modelAnnotation != null;
     }
 
+    /**
+     * @return the effective cache policy, either defined by the model annotation or overridden by configuration
+     */
+    public @NotNull CachePolicy getCachePolicy() {
+        return this.cachePolicy;
+    }
+
     public ModelClassConstructor<ModelType>[] getConstructors() {
-        return constructors;
+        return getMetadata().constructors();
     }
 
     public InjectableField[] getInjectableFields() {
-        return this.injectableFields;
+        return getMetadata().injectableFields();
     }
 
     public InjectableMethod[] getInjectableMethods() {
-        return this.injectableMethods;
+        return getMetadata().injectableMethods();
     }
 }
@@ -21,8 +21,16 @@ package org.apache.sling.models.impl.via;
 import java.beans.BeanInfo;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.SlingJakartaHttpServletRequest;
+import org.apache.sling.api.resource.Resource;
 import org.apache.sling.models.annotations.ViaProviderType;
 import org.apache.sling.models.annotations.via.BeanProperty;
 import org.apache.sling.models.spi.ViaProvider;
@@ -35,6 +43,27 @@ public class BeanPropertyViaProvider implements ViaProvider {
 
     private static final Logger log = LoggerFactory.getLogger(BeanPropertyViaProvider.class);
 
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /** Getter for properties the class does not have. */
+    private static final MethodHandle NO_PROPERTY =
+            MethodHandles.dropArguments(MethodHandles.constant(Object.class, null), 0, Object.class);
+
+    /**
+     * Getters per class and property name, resolved once via bean introspection. The values only consist of JDK types
+     * referencing the methods of the class itself, so that they neither pin the class loader of this bundle nor of any
+     * other bundle.
+     */
+    private final ClassValue<ConcurrentMap<String, MethodHandle>> getters = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<String, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /** Via values split into their property names, e.g. requestPathInfo.suffixResource.path */
+    private final ConcurrentMap<String, String[]> paths = new ConcurrentHashMap<>();
+
     @Override
     public Class<? extends ViaProviderType> getType() {
         return BeanProperty.class;
@@ -47,22 +76,90 @@ public class BeanPropertyViaProvider implements ViaProvider {
         }
 
         // support nested values, e.g. requestPathInfo.suffixResource.path
-        if (StringUtils.contains(value, '.')) {
-            String[] parts = StringUtils.split(value, ".", 2);
-            Object adaptable = getAdaptable(original, parts[0]);
-            return getAdaptable(adaptable, parts[1]);
+        String[] path = paths.computeIfAbsent(value, v -> StringUtils.split(v, '.'));
+        Object adaptable = original;
+        for (String property : path) {
+            if (adaptable == null) {
+                return null;
+            }
+            adaptable = getProperty(adaptable, property, value);
+        }
+        return adaptable;
+    }
+
+    @SuppressWarnings("deprecation")
+    private Object getProperty(Object original, String property, String value) {
+        // fast paths for the most common properties
+        if (original instanceof SlingJakartaHttpServletRequest request) {
+            switch (property) {
+                case "resource":
+                    return request.getResource();
+                case "resourceResolver":
+                    return request.getResourceResolver();
+                case "requestPathInfo":
+                    return request.getRequestPathInfo();
+                default:
+                    break;
+            }
+        } else if (original instanceof org.apache.sling.api.SlingHttpServletRequest request) {
+            switch (property) {
+                case "resource":
+                    return request.getResource();
+                case "resourceResolver":
+                    return request.getResourceResolver();
+                case "requestPathInfo":
+                    return request.getRequestPathInfo();
+                default:
+                    break;
+            }
+        } else if (original instanceof Resource resource && property.equals("resourceResolver")) {
+            return resource.getResourceResolver();
         }
 
+        MethodHandle getter =
+                getters.get(original.getClass()).computeIfAbsent(property, p -> createGetter(original, p));
+        try {
+            return (Object) getter.invokeExact(original);
+        } catch (Throwable e) {
+            log.error("Unable to execution projection " + value, e);
+            return null;
+        }
+    }
+
+    private static MethodHandle createGetter(Object original, String property) {
         try {
             BeanInfo beanInfo = Introspector.getBeanInfo(original.getClass());
             for (PropertyDescriptor desc : beanInfo.getPropertyDescriptors()) {
-                if (desc.getName().equals(value)) {
-                    return desc.getReadMethod().invoke(original);
+                if (desc.getName().equals(property)) {
+                    Method readMethod = desc.getReadMethod();
+                    if (readMethod == null) {
+                        return NO_PROPERTY;
+                    }
+                    return createGetter(readMethod);
                 }
             }
         } catch (Exception e) {
-            log.error("Unable to execution projection " + value, e);
+            log.error("Unable to introspect " + original.getClass(), e);
+        }
+        return NO_PROPERTY;
+    }
+
+    private static MethodHandle createGetter(Method readMethod) {
+        try {
+            return MethodHandles.lookup().unreflect(readMethod).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            // fall back to reflection which reports the access problem on use
+            try {
+                MethodHandle invoke = MethodHandles.lookup()
+                        .findVirtual(
+                                Method.class,
+                                "invoke",
+                                MethodType.methodType(Object.class, Object.class, Object[].class));
+                return MethodHandles.insertArguments(invoke.bindTo(readMethod), 1, (Object) new Object[0]);
+            } catch (NoSuchMethodException | IllegalAccessException ex) {
+                log.error("Unable to access " + readMethod, ex);
+                return NO_PROPERTY;
+            }
         }
-        return null;
     }
 }
@@ -24,9 +24,14 @@ import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.wrappers.SlingJakartaHttpServletRequestWrapper;
 import org.apache.sling.models.annotations.ViaProviderType;
 import org.apache.sling.models.annotations.via.ChildResource;
+import org.apache.sling.models.impl.ResourceResolutionCache;
 import org.apache.sling.models.spi.ViaProvider;
 import org.jetbrains.annotations.NotNull;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
+import org.osgi.service.component.annotations.ReferencePolicyOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,6 +40,12 @@ public class ChildResourceViaProvider implements ViaProvider {
 
     private static final Logger log = LoggerFactory.getLogger(ChildResourceViaProvider.class);
 
+    @Reference(
+            cardinality = ReferenceCardinality.OPTIONAL,
+            policy = ReferencePolicy.DYNAMIC,
+            policyOption = ReferencePolicyOption.GREEDY)
+    private volatile ResourceResolutionCache resolutionCache;
+
     @Override
     public Class<? extends ViaProviderType> getType() {
         return ChildResource.class;
@@ -47,10 +58,10 @@ public class ChildResourceViaProvider implements ViaProvider {
             return ORIGINAL;
         }
         if (original instanceof Resource resource) {
-            return resource.getChild(value);
+            return getChild(resource, value);
         } else if (original instanceof SlingJakartaHttpServletRequest jakartaRequest) {
             final @NotNull Resource resource = jakartaRequest.getResource();
-            Resource child = resource.getChild(value);
+            Resource child = getChild(resource, value);
             if (child == null) {
                 log.debug("Could not obtain child {} of resource {}", value, resource.getPath());
                 return null;
@@ -58,7 +69,7 @@ public class ChildResourceViaProvider implements ViaProvider {
             return new ChildResourceJakartaRequestWrapper(jakartaRequest, child);
         } else if (original instanceof org.apache.sling.api.SlingHttpServletRequest javaxRequest) {
             final @NotNull Resource resource = javaxRequest.getResource();
-            Resource child = resource.getChild(value);
+            Resource child = getChild(resource, value);
             if (child == null) {
                 log.debug("Could not obtain child {} of resource {}", value, resource.getPath());
                 return null;
@@ -72,6 +83,11 @@ public class ChildResourceViaProvider implements ViaProvider {
         }
     }
 
+    private Resource getChild(Resource resource, String relativePath) {
+        ResourceResolutionCache cache = this.resolutionCache;
+        return cache != null ? cache.getChild(resource, relativePath) : resource.getChild(relativePath);
+    }
+
     /**
      * @deprecated use {@link ChildResourceJakartaRequestWrapper} instead
      */
@@ -21,7 +21,11 @@ package org.apache.sling.models.impl.via;
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceWrapper;
 
-class ResourceTypeForcingResourceWrapper extends ResourceWrapper {
+/**
+ * Resource wrapper which only overrides the resource type of the wrapped resource.
+ * Public so that the model cache can treat it as the same identity as the wrapped resource.
+ */
+public class ResourceTypeForcingResourceWrapper extends ResourceWrapper {
 
     private final String resourceType;
 
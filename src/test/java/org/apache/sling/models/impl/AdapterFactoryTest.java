@@ -80,14 +80,23 @@ public class AdapterFactoryTest {
         return createModelAdapterFactory(bundleContext);
     }
 
+    public static ModelAdapterFactory createModelAdapterFactory(Map<String, ?> configuration) {
+        BundleContext bundleContext = Mockito.mock(BundleContext.class);
+        return createModelAdapterFactory(bundleContext, configuration);
+    }
+
     public static ModelAdapterFactory createModelAdapterFactory(BundleContext bundleContext) {
+        return createModelAdapterFactory(bundleContext, new HashMap<String, String>());
+    }
+
+    public static ModelAdapterFactory createModelAdapterFactory(
+            BundleContext bundleContext, Map<String, ?> configuration) {
         ComponentContext componentCtx = Mockito.mock(ComponentContext.class);
         when(componentCtx.getBundleContext()).thenReturn(bundleContext);
 
         ModelAdapterFactory factory = new ModelAdapterFactory();
         Converter c = Converters.standardConverter();
-        Map<String, String> map = new HashMap<>();
-        ModelAdapterFactoryConfiguration config = c.convert(map).to(ModelAdapterFactoryConfiguration.class);
+        ModelAdapterFactoryConfiguration config = c.convert(configuration).to(ModelAdapterFactoryConfiguration.class);
         factory.activate(componentCtx, config);
         factory.injectAnnotationProcessorFactories = Collections.emptyList();
         factory.injectAnnotationProcessorFactories2 = Collections.emptyList();
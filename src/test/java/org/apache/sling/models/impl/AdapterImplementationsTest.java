@@ -19,12 +19,19 @@
 package org.apache.sling.models.impl;
 
 import java.util.Arrays;
+import java.util.Collections;
 
 import org.apache.sling.api.SlingJakartaHttpServletRequest;
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.api.wrappers.JakartaToJavaxRequestWrapper;
+import org.apache.sling.models.factory.ModelClassException;
+import org.apache.sling.models.impl.model.InjectableField;
+import org.apache.sling.models.impl.model.ModelClass;
 import org.apache.sling.models.spi.ImplementationPicker;
+import org.apache.sling.models.spi.injectorspecific.AbstractInjectAnnotationProcessor2;
+import org.apache.sling.models.spi.injectorspecific.StaticInjectAnnotationProcessorFactory;
+import org.apache.sling.models.testmodels.classes.ChildModel;
 import org.apache.sling.testing.mock.osgi.MockOsgi;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,7 +42,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.osgi.framework.BundleContext;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 
@@ -87,6 +97,70 @@ class AdapterImplementationsTest {
         assertNull(underTest.lookup(SAMPLE_ADAPTER, SAMPLE_ADAPTABLE, Arrays.asList(new FirstImplementationPicker())));
     }
 
+    @Test
+    void testLazyMetadata() {
+        underTest.setLazyMetadata(true);
+        underTest.addAll(ChildModel.class, ChildModel.class);
+
+        ModelClass<ChildModel> modelClass =
+                underTest.lookup(ChildModel.class, SAMPLE_ADAPTABLE, Arrays.asList(new FirstImplementationPicker()));
+        assertEquals(ChildModel.class, modelClass.getType());
+        // the metadata is built on first access
+        assertEquals(1, modelClass.getInjectableFields().length);
+        assertEquals("property", modelClass.getInjectableFields()[0].getName());
+        assertEquals(1, modelClass.getConstructors().length);
+    }
+
+    @Test
+    void testLazyMetadataFailure() {
+        IllegalStateException cause = new IllegalStateException("broken");
+        StaticInjectAnnotationProcessorFactory brokenFactory = element -> {
+            throw cause;
+        };
+        ModelClass<ChildModel> modelClass =
+                new ModelClass<>(ChildModel.class, new StaticInjectAnnotationProcessorFactory[] {brokenFactory}, true);
+
+        ModelClassException first = assertThrows(ModelClassException.class, modelClass::getMetadata);
+        ModelClassException second = assertThrows(ModelClassException.class, modelClass::getMetadata);
+        // the failure is remembered, but each caller gets its own exception
+        assertNotSame(first, second);
+        assertSame(cause, first.getCause());
+        assertSame(cause, second.getCause());
+    }
+
+    @Test
+    void testProcessorFactoryUpdateRecomputesAffectedElementsOnly() {
+        underTest.addAll(ChildModel.class, ChildModel.class, Comparable.class);
+        ModelClass<ChildModel> modelClass =
+                underTest.lookup(ChildModel.class, SAMPLE_ADAPTABLE, Arrays.asList(new FirstImplementationPicker()));
+        InjectableField field = modelClass.getInjectableFields()[0];
+
+        // a factory not handling the field keeps the element
+        StaticInjectAnnotationProcessorFactory unrelatedFactory = element -> null;
+        underTest.setStaticInjectAnnotationProcessorFactories(Arrays.asList(unrelatedFactory));
+        assertSame(field, modelClass.getInjectableFields()[0]);
+
+        // a factory handling the field recomputes it
+        StaticInjectAnnotationProcessorFactory namingFactory = element -> new AbstractInjectAnnotationProcessor2() {
+            @Override
+            public String getName() {
+                return "renamed";
+            }
+        };
+        underTest.setStaticInjectAnnotationProcessorFactories(Arrays.asList(unrelatedFactory, namingFactory));
+        assertNotSame(field, modelClass.getInjectableFields()[0]);
+        assertEquals("renamed", modelClass.getInjectableFields()[0].getName());
+
+        // removing it again restores the default name
+        underTest.setStaticInjectAnnotationProcessorFactories(Arrays.asList(unrelatedFactory));
+        assertEquals("property", modelClass.getInjectableFields()[0].getName());
+
+        // removing a factory which did not provide the processor keeps the element
+        field = modelClass.getInjectableFields()[0];
+        underTest.setStaticInjectAnnotationProcessorFactories(Collections.emptyList());
+        assertSame(field, modelClass.getInjectableFields()[0]);
+    }
+
     @Test
     void testMultipleMappings() {
         underTest.addAll(String.class, SAMPLE_ADAPTER);
@@ -18,23 +18,32 @@
  */
 package org.apache.sling.models.impl;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.api.resource.ValueMap;
 import org.apache.sling.api.wrappers.SlingJakartaHttpServletRequestWrapper;
 import org.apache.sling.api.wrappers.ValueMapDecorator;
+import org.apache.sling.models.factory.InvalidAdaptableException;
+import org.apache.sling.models.factory.MissingElementsException;
 import org.apache.sling.models.impl.injectors.RequestAttributeInjector;
 import org.apache.sling.models.impl.injectors.ValueMapInjector;
 import org.apache.sling.models.testmodels.classes.CachedModel;
 import org.apache.sling.models.testmodels.classes.CachedModelWithAdapterTypes12;
 import org.apache.sling.models.testmodels.classes.CachedModelWithAdapterTypes23;
+import org.apache.sling.models.testmodels.classes.FalsePostConstructModel;
 import org.apache.sling.models.testmodels.classes.UncachedModel;
 import org.apache.sling.models.testmodels.interfaces.AdapterType1;
 import org.apache.sling.models.testmodels.interfaces.AdapterType2;
 import org.apache.sling.models.testmodels.interfaces.AdapterType3;
+import org.apache.sling.scripting.api.BindingsValuesProvidersByContext;
 import org.apache.sling.servlethelpers.MockSlingJakartaHttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,13 +51,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.util.converter.Converters;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class CachingTest {
@@ -61,6 +75,12 @@ class CachingTest {
     @Mock
     private Resource resource;
 
+    @Mock
+    private ResourceResolver resourceResolver;
+
+    @Mock
+    private BindingsValuesProvidersByContext bindingsValuesProvidersByContext;
+
     private ModelAdapterFactory factory;
 
     @BeforeEach
@@ -225,4 +245,152 @@ class CachingTest {
         assertSame(byImpl23, byAdapterType2);
         assertSame(byImpl23, byAdapterType3);
     }
+
+    @Test
+    void testCachedClassWithResourceOverridingRequestWrapper() {
+        factory.bindingsValuesProvidersByContext = bindingsValuesProvidersByContext;
+        when(resource.getPath()).thenReturn("/content/list/item");
+
+        CachedModel cached1 = factory.createModelFromWrappedRequest(request, resource, CachedModel.class);
+        CachedModel cached2 = factory.createModelFromWrappedRequest(request, resource, CachedModel.class);
+
+        assertSame(cached1, cached2);
+        verify(request, times(1)).getAttribute("testValue");
+
+        // the unwrapped request points to a different resource, so it must not share the cached model
+        CachedModel cached3 = factory.getAdapter(request, CachedModel.class);
+        assertNotSame(cached1, cached3);
+    }
+
+    @Test
+    void testFailedAdaptationIsNotCachedByDefault() {
+        MockSlingJakartaHttpServletRequest emptyRequest = spy(new MockSlingJakartaHttpServletRequest(null));
+
+        assertNull(factory.getAdapter(emptyRequest, UncachedModel.class));
+        assertNull(factory.getAdapter(emptyRequest, UncachedModel.class));
+
+        verify(emptyRequest, times(2)).getAttribute("testValue");
+        assertEquals(0, factory.getSuppressedFailedAdaptations());
+    }
+
+    @Test
+    void testFailedAdaptationWithNegativeRequestCache() {
+        factory = AdapterFactoryTest.createModelAdapterFactory(
+                Collections.singletonMap("negative.request.cache.enabled", true));
+        factory.injectors = Arrays.asList(new RequestAttributeInjector(), new ValueMapInjector());
+        factory.adapterImplementations.addClassesAsAdapterAndImplementation(FalsePostConstructModel.class);
+        MockSlingJakartaHttpServletRequest request = new MockSlingJakartaHttpServletRequest(null);
+
+        // the model only accepts resources
+        assertNull(factory.getAdapter(request, FalsePostConstructModel.class));
+        assertNull(factory.getAdapter(request, FalsePostConstructModel.class));
+        assertNull(factory.getAdapter(request, FalsePostConstructModel.class));
+        assertEquals(2, factory.getSuppressedFailedAdaptations());
+
+        // each remembered failure is reported through a new exception
+        InvalidAdaptableException first = assertThrows(
+                InvalidAdaptableException.class, () -> factory.createModel(request, FalsePostConstructModel.class));
+        InvalidAdaptableException second = assertThrows(
+                InvalidAdaptableException.class, () -> factory.createModel(request, FalsePostConstructModel.class));
+        assertNotSame(first, second);
+        assertEquals(first.getMessage(), second.getMessage());
+    }
+
+    @Test
+    void testMissingElementsAreNotRememberedByNegativeRequestCache() {
+        factory = AdapterFactoryTest.createModelAdapterFactory(
+                Collections.singletonMap("negative.request.cache.enabled", true));
+        factory.injectors = Arrays.asList(new RequestAttributeInjector(), new ValueMapInjector());
+        factory.adapterImplementations.addClassesAsAdapterAndImplementation(UncachedModel.class);
+        MockSlingJakartaHttpServletRequest request = spy(new MockSlingJakartaHttpServletRequest(null));
+
+        assertNull(factory.getAdapter(request, UncachedModel.class));
+        assertThrows(MissingElementsException.class, () -> factory.createModel(request, UncachedModel.class));
+
+        // request attributes may be set later on during the same request
+        request.setAttribute("testValue", "test");
+        UncachedModel model = factory.getAdapter(request, UncachedModel.class);
+        assertEquals("test", model.getTestValue());
+        verify(request, times(3)).getAttribute("testValue");
+        assertEquals(0, factory.getSuppressedFailedAdaptations());
+    }
+
+    @Test
+    void testCachedClassWithResourceResolverCache() throws IOException {
+        factory = AdapterFactoryTest.createModelAdapterFactory(
+                Collections.singletonMap("resource.resolver.cache.enabled", true));
+        factory.injectors = Arrays.asList(new RequestAttributeInjector(), new ValueMapInjector());
+        factory.adapterImplementations.addClassesAsAdapterAndImplementation(CachedModel.class);
+        Map<String, Object> propertyMap = new HashMap<>();
+        when(resource.getResourceResolver()).thenReturn(resourceResolver);
+        when(resourceResolver.isLive()).thenReturn(true);
+        when(resourceResolver.getPropertyMap()).thenReturn(propertyMap);
+
+        CachedModel cached1 = factory.getAdapter(resource, CachedModel.class);
+        CachedModel cached2 = factory.getAdapter(resource, CachedModel.class);
+        assertSame(cached1, cached2);
+        verify(resource, times(1)).adaptTo(ValueMap.class);
+        // the model is cached in the property map of the resource resolver
+        assertEquals(1, propertyMap.size());
+
+        // closing the resource resolver closes all closeable values of its property map and clears it
+        for (Object value : propertyMap.values()) {
+            ((Closeable) value).close();
+        }
+        propertyMap.clear();
+
+        CachedModel cached3 = factory.getAdapter(resource, CachedModel.class);
+        assertNotSame(cached1, cached3);
+        verify(resource, times(2)).adaptTo(ValueMap.class);
+    }
+
+    @Test
+    void testCachePolicyOverridesModelAnnotationAtRuntime() {
+        ModelCachePolicy policy = createCachePolicy(Map.of(
+                "model.patterns", new String[] {"org.apache.sling.models.testmodels.classes.*"}, "cache", "DISABLED"));
+        factory.bindModelCachePolicy(policy);
+
+        CachedModel cached1 = factory.getAdapter(request, CachedModel.class);
+        CachedModel cached2 = factory.getAdapter(request, CachedModel.class);
+        assertNotSame(cached1, cached2);
+
+        // a more specific policy wins
+        ModelCachePolicy classPolicy = createCachePolicy(Map.of(
+                "model.patterns",
+                new String[] {UncachedModel.class.getName(), CachedModel.class.getName()},
+                "cache",
+                "ENABLED"));
+        factory.bindModelCachePolicy(classPolicy);
+
+        UncachedModel uncached1 = factory.getAdapter(request, UncachedModel.class);
+        UncachedModel uncached2 = factory.getAdapter(request, UncachedModel.class);
+        assertSame(uncached1, uncached2);
+
+        factory.unbindModelCachePolicy(classPolicy);
+        factory.unbindModelCachePolicy(policy);
+
+        UncachedModel uncached3 = factory.getAdapter(request, UncachedModel.class);
+        assertNotSame(uncached1, uncached3);
+    }
+
+    @Test
+    void testCachePolicyWithRequestScope() {
+        factory.bindModelCachePolicy(
+                createCachePolicy(Map.of("model.patterns", new String[] {"*"}, "scope", "REQUEST")));
+
+        CachedModel cached1 = factory.getAdapter(request, CachedModel.class);
+        CachedModel cached2 = factory.getAdapter(request, CachedModel.class);
+        assertSame(cached1, cached2);
+
+        CachedModel cachedFromResource1 = factory.getAdapter(resource, CachedModel.class);
+        CachedModel cachedFromResource2 = factory.getAdapter(resource, CachedModel.class);
+        assertNotSame(cachedFromResource1, cachedFromResource2);
+        verify(resource, times(2)).adaptTo(ValueMap.class);
+    }
+
+    private static ModelCachePolicy createCachePolicy(Map<String, Object> configuration) {
+        ModelCachePolicy policy = new ModelCachePolicy();
+        policy.activate(Converters.standardConverter().convert(configuration).to(ModelCachePolicyConfiguration.class));
+        return policy;
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.lang.ref.Cleaner;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DisposalCleanerTest {
+
+    @Test
+    void testCallbacksAreCalledOnce() {
+        DisposalCleaner cleaner = new DisposalCleaner();
+        AtomicInteger disposed = new AtomicInteger();
+        Object model = new Object();
+
+        Cleaner.Cleanable cleanable = cleaner.register(model, createRegistry(disposed));
+        assertEquals(1, cleaner.getPending());
+
+        // cleaning runs the same action as the cleaner thread once the model is collected
+        cleanable.clean();
+        cleanable.clean();
+        assertEquals(1, disposed.get());
+        assertEquals(1, cleaner.getDisposed());
+        assertEquals(0, cleaner.getPending());
+    }
+
+    @Test
+    void testCallbacksAreDiscardedOnClose() {
+        DisposalCleaner cleaner = new DisposalCleaner();
+        AtomicInteger disposed = new AtomicInteger();
+        Object model = new Object();
+
+        Cleaner.Cleanable cleanable = cleaner.register(model, createRegistry(disposed));
+        cleaner.close();
+        assertEquals(0, cleaner.getPending());
+
+        // neither pending callbacks nor callbacks registered after closing are called
+        cleanable.clean();
+        cleaner.register(model, createRegistry(disposed));
+        assertEquals(0, disposed.get());
+        assertEquals(0, cleaner.getDisposed());
+        assertEquals(0, cleaner.getPending());
+    }
+
+    private static DisposalCallbackRegistryImpl createRegistry(AtomicInteger disposed) {
+        DisposalCallbackRegistryImpl registry = new DisposalCallbackRegistryImpl();
+        registry.addDisposalCallback(disposed::incrementAndGet);
+        registry.seal();
+        return registry;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.util.Dictionary;
+import java.util.List;
+
+import jakarta.servlet.Servlet;
+import org.apache.sling.api.SlingJakartaHttpServletRequest;
+import org.apache.sling.api.SlingJakartaHttpServletResponse;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceRegistration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServletDispatcherTest {
+
+    @Mock
+    private BundleContext bundleContext;
+
+    @Mock
+    private Bundle bundle;
+
+    @Mock
+    private ServiceRegistration<Servlet> registration;
+
+    @Mock
+    private ExportServlet firstServlet;
+
+    @Mock
+    private ExportServlet secondServlet;
+
+    @Mock
+    private SlingJakartaHttpServletRequest request;
+
+    @Mock
+    private SlingJakartaHttpServletResponse response;
+
+    @Mock
+    private Resource resource;
+
+    @Mock
+    private ResourceResolver resourceResolver;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSingleServletDispatchesByResourceType() throws Exception {
+        when(bundle.getBundleId()).thenReturn(1L);
+        ArgumentCaptor<Servlet> servlet = ArgumentCaptor.forClass(Servlet.class);
+        ArgumentCaptor<Dictionary<String, Object>> properties = ArgumentCaptor.forClass(Dictionary.class);
+        when(bundleContext.registerService(eq(Servlet.class), servlet.capture(), properties.capture()))
+                .thenReturn(registration);
+        ExportServletDispatcher underTest = new ExportServletDispatcher(bundleContext);
+
+        underTest.addAll(
+                bundle,
+                List.of(
+                        new ExportServletDispatcher.Export(
+                                String.class, "app/first", "model", new String[] {"json"}, "jackson", firstServlet),
+                        new ExportServletDispatcher.Export(
+                                Integer.class, "app/second", "model", new String[] {"json"}, "gson", secondServlet)));
+
+        // a single servlet covers both resource types
+        verify(bundleContext).registerService(eq(Servlet.class), any(Servlet.class), any(Dictionary.class));
+        assertArrayEquals(new String[] {"app/first", "app/second"}, (String[])
+                properties.getValue().get("sling.servlet.resourceTypes"));
+        assertEquals("model", properties.getValue().get("sling.servlet.selectors"));
+        assertEquals("json", properties.getValue().get("sling.servlet.extensions"));
+        // model classes and exporter names are listed at the index of their resource type
+        assertArrayEquals(new String[] {String.class.getName(), Integer.class.getName()}, (String[])
+                properties.getValue().get(ModelPackageBundleListener.PROP_EXPORTER_SERVLET_CLASS));
+        assertArrayEquals(new String[] {"jackson", "gson"}, (String[])
+                properties.getValue().get(ModelPackageBundleListener.PROP_EXPORTER_SERVLET_NAME));
+
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getResource()).thenReturn(resource);
+        when(resource.getResourceResolver()).thenReturn(resourceResolver);
+        when(resource.getResourceType()).thenReturn("app/second");
+        servlet.getValue().service(request, response);
+        verify(secondServlet).doGet(request, response);
+        verify(firstServlet, never()).doGet(request, response);
+
+        underTest.remove(bundle);
+        verify(registration).unregister();
+    }
+}
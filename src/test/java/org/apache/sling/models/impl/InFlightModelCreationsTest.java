@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InFlightModelCreationsTest {
+
+    @Test
+    void testConcurrentCreationIsExecutedOnce() throws Exception {
+        InFlightModelCreations underTest = new InFlightModelCreations(10000);
+        Map<Class<?>, Object> scope = new HashMap<>();
+        AtomicInteger creations = new AtomicInteger();
+        CountDownLatch creationStarted = new CountDownLatch(1);
+        CountDownLatch releaseCreation = new CountDownLatch(1);
+        Object model = new Object();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Result<Object>> leader = executor.submit(() -> underTest.execute(scope, Object.class, () -> {
+                creations.incrementAndGet();
+                creationStarted.countDown();
+                await(releaseCreation);
+                return new Result<>(model);
+            }));
+            assertTrue(creationStarted.await(5, TimeUnit.SECONDS));
+            FutureTask<Result<Object>> follower = new FutureTask<>(() -> underTest.execute(scope, Object.class, () -> {
+                creations.incrementAndGet();
+                return new Result<>(new Object());
+            }));
+            Thread followerThread = new Thread(follower);
+            followerThread.start();
+            // release the leader only once the follower has joined the in-flight creation
+            awaitWaiting(followerThread);
+            releaseCreation.countDown();
+
+            assertSame(model, leader.get(5, TimeUnit.SECONDS).getValue());
+            assertSame(model, follower.get(5, TimeUnit.SECONDS).getValue());
+            assertEquals(1, creations.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testEqualScopesAreNotShared() throws Exception {
+        InFlightModelCreations underTest = new InFlightModelCreations(10000);
+        CountDownLatch creationStarted = new CountDownLatch(1);
+        CountDownLatch releaseCreation = new CountDownLatch(1);
+        Object model = new Object();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> underTest.execute(new HashMap<>(), Object.class, () -> {
+                creationStarted.countDown();
+                await(releaseCreation);
+                return new Result<>(new Object());
+            }));
+            assertTrue(creationStarted.await(5, TimeUnit.SECONDS));
+
+            // scopes are compared by identity, so an equal scope must not wait for the blocked creation
+            assertSame(
+                    model,
+                    underTest
+                            .execute(new HashMap<>(), Object.class, () -> new Result<>(model))
+                            .getValue());
+        } finally {
+            releaseCreation.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRecursiveCreationDoesNotWait() {
+        InFlightModelCreations underTest = new InFlightModelCreations(10000);
+        Map<Class<?>, Object> scope = new HashMap<>();
+        Object model = new Object();
+
+        // a nested creation for the same key must not wait for the outer creation of the same thread
+        Result<Object> result = underTest.execute(
+                scope, Object.class, () -> underTest.execute(scope, Object.class, () -> new Result<>(model)));
+
+        assertSame(model, result.getValue());
+    }
+
+    @Test
+    void testTimeoutFallsBackToOwnCreation() throws Exception {
+        InFlightModelCreations underTest = new InFlightModelCreations(50);
+        Map<Class<?>, Object> scope = new HashMap<>();
+        CountDownLatch creationStarted = new CountDownLatch(1);
+        CountDownLatch releaseCreation = new CountDownLatch(1);
+        Object model = new Object();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> underTest.execute(scope, Object.class, () -> {
+                creationStarted.countDown();
+                await(releaseCreation);
+                return new Result<>(new Object());
+            }));
+            assertTrue(creationStarted.await(5, TimeUnit.SECONDS));
+
+            assertSame(
+                    model,
+                    underTest
+                            .execute(scope, Object.class, () -> new Result<>(model))
+                            .getValue());
+        } finally {
+            releaseCreation.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            assertTrue(System.nanoTime() < deadline, "Timeout while waiting for concurrent creations to join");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
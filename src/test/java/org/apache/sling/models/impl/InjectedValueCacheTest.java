@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.apache.sling.api.SlingJakartaHttpServletRequest;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.models.impl.injectors.ValueMapInjector;
+import org.apache.sling.models.spi.Injector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InjectedValueCacheTest {
+
+    @Mock
+    private SlingJakartaHttpServletRequest request;
+
+    @Mock
+    private Resource resource;
+
+    @Mock
+    private ResourceResolver resolver;
+
+    private final Injector injector = new ValueMapInjector();
+
+    private final InjectedValueCache underTest = new InjectedValueCache(100);
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Object> attributes = new HashMap<>();
+        lenient()
+                .when(request.getAttribute(anyString()))
+                .thenAnswer(invocation -> attributes.get(invocation.getArgument(0)));
+        lenient()
+                .doAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(request)
+                .setAttribute(anyString(), any());
+        lenient().when(request.getMethod()).thenReturn("GET");
+        lenient().when(request.getResourceResolver()).thenReturn(resolver);
+        lenient().when(request.getResource()).thenReturn(resource);
+        lenient().when(resource.getPath()).thenReturn("/content/a");
+    }
+
+    @Test
+    void testValuesAreInjectedOnce() {
+        AtomicInteger injections = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals("value", underTest.getValue(request, injector, "prop", String.class, () -> {
+                injections.incrementAndGet();
+                return "value";
+            }));
+            assertNull(underTest.getValue(request, injector, "missing", String.class, () -> {
+                injections.incrementAndGet();
+                return null;
+            }));
+        }
+
+        assertEquals(2, injections.get());
+        assertEquals(4, underTest.getHits());
+        assertEquals(2, underTest.getMisses());
+    }
+
+    @Test
+    void testArraysAreCopied() {
+        String[] value = new String[] {"a", "b"};
+        underTest.getValue(request, injector, "prop", String[].class, () -> value);
+        String[] cached = (String[]) underTest.getValue(request, injector, "prop", String[].class, () -> null);
+
+        assertArrayEquals(value, cached);
+        assertNotSame(value, cached);
+    }
+
+    @Test
+    void testMutableValuesAreNotCached() {
+        assertInjectedTwice(request, Calendar.class, Calendar::getInstance);
+    }
+
+    @Test
+    void testNotCachedWithPendingChanges() {
+        when(resolver.hasChanges()).thenReturn(true);
+        assertInjectedTwice(request, String.class, () -> "value");
+    }
+
+    @Test
+    void testNotCachedForModifyingRequests() {
+        when(request.getMethod()).thenReturn("POST");
+        assertInjectedTwice(request, String.class, () -> "value");
+    }
+
+    @Test
+    void testResourceValuesAreNotCached() {
+        assertInjectedTwice(resource, String.class, () -> "value");
+        verifyNoInteractions(resolver);
+    }
+
+    @Test
+    void testRequestValuesAreScopedByCurrentResource() {
+        Resource other = mock(Resource.class);
+        when(other.getPath()).thenReturn("/content/b");
+        when(request.getResource()).thenReturn(resource, resource, other);
+
+        assertEquals("a", underTest.getValue(request, injector, "prop", String.class, () -> "a"));
+        assertEquals("a", underTest.getValue(request, injector, "prop", String.class, () -> "b"));
+        // the resource of the request changed, e.g. during an include
+        assertEquals("b", underTest.getValue(request, injector, "prop", String.class, () -> "b"));
+    }
+
+    private void assertInjectedTwice(Object adaptable, Class<?> type, Supplier<Object> value) {
+        AtomicInteger injections = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            underTest.getValue(adaptable, injector, "prop", type, () -> {
+                injections.incrementAndGet();
+                return value.get();
+            });
+        }
+        assertEquals(2, injections.get());
+    }
+}
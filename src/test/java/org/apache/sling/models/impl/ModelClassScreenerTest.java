@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+import org.apache.sling.models.testmodels.classes.ChildModel;
+import org.apache.sling.models.testmodels.classes.ConstructorWithExceptionModel;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelClassScreenerTest {
+
+    @Test
+    void testModelClass() throws IOException {
+        assertTrue(mayBeModelClass(ChildModel.class));
+        assertTrue(mayBeModelClass(ConstructorWithExceptionModel.class));
+    }
+
+    @Test
+    void testNonModelClass() throws IOException {
+        assertFalse(mayBeModelClass(ModelClassScreener.class));
+        assertFalse(mayBeModelClass(Result.class));
+    }
+
+    @Test
+    void testUnreadableClassFileIsCandidate() throws IOException {
+        assertTrue(ModelClassScreener.mayBeModelClass(new ByteArrayInputStream(new byte[] {1, 2, 3, 4})));
+        assertTrue(ModelClassScreener.mayBeModelClass(new URL("file:/does/not/exist.class")));
+    }
+
+    private static boolean mayBeModelClass(Class<?> clazz) throws IOException {
+        try (InputStream in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+            return ModelClassScreener.mayBeModelClass(in);
+        }
+    }
+}
@@ -18,16 +18,26 @@
  */
 package org.apache.sling.models.impl;
 
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Dictionary;
 import java.util.Hashtable;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.sling.api.adapter.AdapterFactory;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.models.impl.index.ModelIndex;
+import org.apache.sling.models.impl.index.PersistentModelIndex;
 import org.apache.sling.models.testmodels.classes.ChildModel;
+import org.apache.sling.models.testmodels.classes.ChildResourceModel;
 import org.apache.sling.models.testmodels.classes.SimpleModelWithInvalidSecondAnnotation;
 import org.apache.sling.models.testmodels.classes.annotations.Hidden;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -35,11 +45,21 @@ import org.mockito.stubbing.Answer;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.BundleEvent;
+import org.osgi.framework.Version;
+import org.osgi.service.condition.Condition;
 import org.springframework.core.OverridingClassLoader;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -119,6 +139,91 @@ class ModelPackageBundleListenerTest {
                 "Model should not yet have been registered but was");
     }
 
+    @Test
+    void testAddingBundleWithPersistentIndex(@TempDir Path tempDir) throws Exception {
+        Dictionary<String, String> headers = new Hashtable<>();
+        headers.put(ModelPackageBundleListener.PACKAGE_HEADER, ChildModel.class.getPackageName());
+        when(mockBundle.getHeaders()).thenReturn(headers);
+        when(mockBundle.getBundleId()).thenReturn(42L);
+        when(mockBundle.getSymbolicName()).thenReturn("test.bundle");
+        when(mockBundle.getVersion()).thenReturn(Version.emptyVersion);
+        when(mockBundle.loadClass(ChildModel.class.getName())).thenAnswer(invocation -> ChildModel.class);
+        PersistentModelIndex persistentIndex = new PersistentModelIndex(tempDir.toFile());
+        persistentIndex.write(mockBundle, List.of(new ModelIndex.Entry(ChildModel.class.getName())));
+        ModelPackageBundleListener listener = new ModelPackageBundleListener(
+                mockBundleContext,
+                mockModelAdapterFactory,
+                adapterImplementations,
+                null,
+                null,
+                0,
+                persistentIndex,
+                false,
+                false);
+
+        listener.addingBundle(mockBundle, new BundleEvent(BundleEvent.STARTED, mockBundle));
+
+        assertTrue(
+                adapterImplementations.isModelClass(ChildModel.class), "Model should have been registered but was not");
+        // the package is not scanned again if the bundle has been scanned before
+        verify(mockBundle, never()).findEntries(anyString(), anyString(), anyBoolean());
+    }
+
+    @Test
+    void testAsynchronousBundleAnalysis() throws Exception {
+        Dictionary<String, String> headers = new Hashtable<>();
+        headers.put(ModelPackageBundleListener.CLASSES_HEADER, ChildModel.class.getName());
+        when(mockBundle.getHeaders()).thenReturn(headers);
+        when(mockBundle.loadClass(ChildModel.class.getName())).thenAnswer(invocation -> ChildModel.class);
+        ModelPackageBundleListener listener = new ModelPackageBundleListener(
+                mockBundleContext, mockModelAdapterFactory, adapterImplementations, null, null, 2, null, false, false);
+        try {
+            // no bundles were active when the tracker was opened
+            verify(mockBundleContext)
+                    .registerService(
+                            eq(Condition.class),
+                            same(Condition.INSTANCE),
+                            argThat(props -> ModelPackageBundleListener.PACKAGES_ANALYZED_CONDITION_ID.equals(
+                                    props.get(Condition.CONDITION_ID))));
+
+            assertEquals(0, listener.addingBundle(mockBundle, new BundleEvent(BundleEvent.STARTED, mockBundle)).length);
+            assertTrue(listener.awaitAnalyses(5, TimeUnit.SECONDS));
+
+            assertTrue(
+                    adapterImplementations.isModelClass(ChildModel.class),
+                    "Model should have been registered but was not");
+        } finally {
+            listener.unregisterAll();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testConsolidatedAdapterFactoryRegistration() throws Exception {
+        Dictionary<String, String> headers = new Hashtable<>();
+        headers.put(
+                ModelPackageBundleListener.CLASSES_HEADER,
+                ChildModel.class.getName() + "," + ChildResourceModel.class.getName());
+        when(mockBundle.getHeaders()).thenReturn(headers);
+        when(mockBundle.loadClass(anyString()))
+                .thenAnswer(invocation -> getClass().getClassLoader().loadClass(invocation.getArgument(0)));
+        ModelPackageBundleListener listener = new ModelPackageBundleListener(
+                mockBundleContext, mockModelAdapterFactory, adapterImplementations, null, null, 0, null, true, false);
+
+        listener.addingBundle(mockBundle, new BundleEvent(BundleEvent.STARTED, mockBundle));
+
+        // both models share the adaptables and are registered with a single adapter factory
+        ArgumentCaptor<Dictionary<String, Object>> properties = ArgumentCaptor.forClass(Dictionary.class);
+        verify(mockBundleContext)
+                .registerService(eq(AdapterFactory.SERVICE_NAME), eq(mockModelAdapterFactory), properties.capture());
+        assertArrayEquals(new String[] {ChildModel.class.getName(), ChildResourceModel.class.getName()}, (String[])
+                properties.getValue().get(AdapterFactory.ADAPTER_CLASSES));
+        assertArrayEquals(new String[] {Resource.class.getName()}, (String[])
+                properties.getValue().get(AdapterFactory.ADAPTABLE_CLASSES));
+        assertTrue(adapterImplementations.isModelClass(ChildModel.class));
+        assertTrue(adapterImplementations.isModelClass(ChildResourceModel.class));
+    }
+
     private ModelPackageBundleListener createListenerForBundleWithClass(Class<?> modelClass)
             throws ClassNotFoundException {
         return createListenerForBundleWithClass(modelClass.getClassLoader(), modelClass.getName());
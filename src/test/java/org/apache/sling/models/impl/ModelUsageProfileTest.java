@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sling.models.testmodels.classes.ChildModel;
+import org.apache.sling.models.testmodels.interfaces.ResourceModelWithRequiredField;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ModelUsageProfileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testPersistAndReadHotModels() {
+        File file = directory.resolve("profile.txt").toFile();
+        ModelUsageProfile underTest = new ModelUsageProfile(file, 1);
+        underTest.record(ChildModel.class);
+        for (int i = 0; i < 10; i++) {
+            underTest.record(ResourceModelWithRequiredField.class);
+        }
+        assertEquals(
+                List.of(ResourceModelWithRequiredField.class.getName()), List.copyOf(underTest.getHotModelTypes()));
+        underTest.close();
+
+        // only the most created entry is persisted, its count is halved on reading
+        ModelUsageProfile restored = new ModelUsageProfile(file, 2);
+        assertEquals(
+                List.of(new ModelUsageProfile.Entry(ResourceModelWithRequiredField.class.getName(), 5)),
+                restored.getHotEntries());
+
+        for (int i = 0; i < 6; i++) {
+            restored.record(ChildModel.class);
+        }
+        assertEquals(
+                Arrays.asList(ChildModel.class.getName(), ResourceModelWithRequiredField.class.getName()),
+                List.copyOf(restored.getHotModelTypes()));
+    }
+
+    @Test
+    void testWarmUpHandlesHotModelsFirst() {
+        AdapterImplementations adapterImplementations = new AdapterImplementations();
+        adapterImplementations.addAll(ChildModel.class, ChildModel.class);
+        adapterImplementations.addAll(ResourceModelWithRequiredField.class, ResourceModelWithRequiredField.class);
+        ModelUsageProfile profile =
+                new ModelUsageProfile(directory.resolve("profile.txt").toFile(), 10);
+        profile.record(ChildModel.class);
+
+        ModelWarmUp warmUp = new ModelWarmUp(adapterImplementations);
+        warmUp.setUsageProfile(profile);
+        warmUp.warmUp();
+        assertEquals(2, warmUp.getLastModelCount());
+        assertEquals(1, warmUp.getLastHotModelCount());
+
+        warmUp.warmUp(true);
+        assertEquals(1, warmUp.getLastModelCount());
+        assertEquals(1, warmUp.getLastHotModelCount());
+    }
+
+    @Test
+    void testPersistKeepsCountsOfPreviousPersists() {
+        ModelUsageProfile underTest =
+                new ModelUsageProfile(directory.resolve("profile.txt").toFile(), 10);
+        for (int i = 0; i < 3; i++) {
+            underTest.record(ChildModel.class);
+        }
+        underTest.persist();
+        underTest.record(ChildModel.class);
+        assertEquals(List.of(new ModelUsageProfile.Entry(ChildModel.class.getName(), 4)), underTest.getHotEntries());
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import org.apache.sling.models.testmodels.classes.ChildModel;
+import org.apache.sling.models.testmodels.interfaces.ResourceModelWithRequiredField;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelWarmUpTest {
+
+    @Test
+    void testWarmUp() {
+        AdapterImplementations adapterImplementations = new AdapterImplementations();
+        adapterImplementations.setLazyMetadata(true);
+        adapterImplementations.addAll(ChildModel.class, ChildModel.class);
+        adapterImplementations.addAll(ResourceModelWithRequiredField.class, ResourceModelWithRequiredField.class);
+
+        ModelWarmUp underTest = new ModelWarmUp(adapterImplementations);
+        assertEquals(-1, underTest.getLastDurationMillis());
+
+        long duration = underTest.warmUp();
+        assertTrue(duration >= 0);
+        assertEquals(duration, underTest.getLastDurationMillis());
+        assertEquals(2, underTest.getLastModelCount());
+        assertEquals(0, underTest.getLastFailureCount());
+    }
+
+    @Test
+    void testWarmUpStopsWhenInterrupted() {
+        AdapterImplementations adapterImplementations = new AdapterImplementations();
+        adapterImplementations.setLazyMetadata(true);
+        adapterImplementations.addAll(ChildModel.class, ChildModel.class);
+
+        ModelWarmUp underTest = new ModelWarmUp(adapterImplementations);
+        Thread.currentThread().interrupt();
+        try {
+            underTest.warmUp();
+            assertEquals(0, underTest.getLastModelCount());
+        } finally {
+            // clears the interrupt flag
+            assertTrue(Thread.interrupted());
+        }
+    }
+}
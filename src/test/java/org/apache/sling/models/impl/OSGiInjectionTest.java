@@ -26,12 +26,14 @@ import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.scripting.SlingBindings;
 import org.apache.sling.api.scripting.SlingScriptHelper;
 import org.apache.sling.models.impl.injectors.OSGiServiceInjector;
+import org.apache.sling.models.impl.injectors.OSGiServiceInjectorConfiguration;
 import org.apache.sling.models.testmodels.classes.ArrayOSGiModel;
 import org.apache.sling.models.testmodels.classes.CollectionOSGiModel;
 import org.apache.sling.models.testmodels.classes.ListOSGiModel;
 import org.apache.sling.models.testmodels.classes.OptionalArrayOSGiModel;
 import org.apache.sling.models.testmodels.classes.OptionalListOSGiModel;
 import org.apache.sling.models.testmodels.classes.RequestOSGiModel;
+import org.apache.sling.models.testmodels.classes.RunnableOSGiModel;
 import org.apache.sling.models.testmodels.classes.SetOSGiModel;
 import org.apache.sling.models.testmodels.classes.SimpleOSGiModel;
 import org.apache.sling.models.testmodels.interfaces.ServiceInterface;
@@ -43,7 +45,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.BundleListener;
+import org.osgi.framework.ServiceObjects;
 import org.osgi.framework.ServiceReference;
+import org.osgi.service.condition.Condition;
+import org.osgi.util.converter.Converters;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -54,6 +59,8 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -89,7 +96,8 @@ class OSGiInjectionTest {
                 org.apache.sling.models.testmodels.classes.constructorinjection.ListOSGiModel.class,
                 org.apache.sling.models.testmodels.classes.constructorinjection.SimpleOSGiModel.class,
                 CollectionOSGiModel.class,
-                OptionalArrayOSGiModel.class);
+                OptionalArrayOSGiModel.class,
+                RunnableOSGiModel.class);
     }
 
     @Test
@@ -230,9 +238,10 @@ class OSGiInjectionTest {
         SetOSGiModel model = factory.getAdapter(res, SetOSGiModel.class);
         assertNull(model);
 
-        verify(bundleContext).registerService(eq(Runnable.class), eq(factory), any(Dictionary.class));
         verify(bundleContext).addBundleListener(any(BundleListener.class));
         verify(bundleContext).registerService(eq(Object.class), any(Object.class), any(Dictionary.class));
+        // the models of all bundles have been registered synchronously on activation
+        verify(bundleContext).registerService(eq(Condition.class), eq(Condition.INSTANCE), any(Dictionary.class));
         verify(bundleContext).getBundles();
         verify(bundleContext).getBundle();
         verifyNoMoreInteractions(res, bundleContext);
@@ -283,4 +292,83 @@ class OSGiInjectionTest {
 
         verifyNoMoreInteractions(res);
     }
+
+    @Test
+    @SuppressWarnings({"null", "unchecked"})
+    void testLazyServiceProxy() throws Exception {
+        activateLazyServiceInjector();
+        ServiceReference<?> ref = mock(ServiceReference.class);
+        when(bundleContext.getServiceReferences(ServiceInterface.class.getName(), null))
+                .thenReturn(new ServiceReference[] {ref});
+
+        SimpleOSGiModel model = factory.getAdapter(mock(Resource.class), SimpleOSGiModel.class);
+        assertNotNull(model);
+
+        // methods of Object do not acquire the service
+        assertNotNull(model.getService().toString());
+        assertEquals(model.getService(), model.getService());
+        assertEquals(model.getService().hashCode(), model.getService().hashCode());
+        verify(bundleContext, never()).getServiceObjects(any());
+        verify(bundleContext, never()).getService(any());
+    }
+
+    @Test
+    @SuppressWarnings({"null", "unchecked"})
+    void testLazyServiceProxyAcquiresServiceOnFirstUse() throws Exception {
+        activateLazyServiceInjector();
+        ServiceReference<?> ref = mock(ServiceReference.class);
+        ServiceObjects<Object> serviceObjects = mock(ServiceObjects.class);
+        Runnable service = mock(Runnable.class);
+        when(bundleContext.getServiceReferences(Runnable.class.getName(), null))
+                .thenReturn(new ServiceReference[] {ref});
+        doReturn(serviceObjects).when(bundleContext).getServiceObjects(ref);
+        when(serviceObjects.getService()).thenReturn(service);
+
+        RunnableOSGiModel model = factory.getAdapter(mock(Resource.class), RunnableOSGiModel.class);
+        assertNotNull(model);
+        verify(serviceObjects, never()).getService();
+
+        model.getRunnable().run();
+        model.getRunnable().run();
+        verify(service, times(2)).run();
+        verify(serviceObjects, times(1)).getService();
+        verify(bundleContext, never()).getService(any());
+    }
+
+    @Test
+    @SuppressWarnings({"null", "unchecked"})
+    void testLazyServiceList() throws Exception {
+        activateLazyServiceInjector();
+        ServiceReference<?> ref1 = mock(ServiceReference.class);
+        ServiceObjects<Object> serviceObjects1 = mock(ServiceObjects.class);
+        ServiceInterface service1 = mock(ServiceInterface.class);
+        doReturn(serviceObjects1).when(bundleContext).getServiceObjects(ref1);
+        when(serviceObjects1.getService()).thenReturn(service1);
+        ServiceReference<?> ref2 = mock(ServiceReference.class);
+        ServiceObjects<Object> serviceObjects2 = mock(ServiceObjects.class);
+        ServiceInterface service2 = mock(ServiceInterface.class);
+        doReturn(serviceObjects2).when(bundleContext).getServiceObjects(ref2);
+        when(serviceObjects2.getService()).thenReturn(service2);
+        when(bundleContext.getServiceReferences(ServiceInterface.class.getName(), null))
+                .thenReturn(new ServiceReference[] {ref1, ref2});
+
+        ListOSGiModel model = factory.getAdapter(mock(Resource.class), ListOSGiModel.class);
+        assertNotNull(model);
+        verify(serviceObjects1, never()).getService();
+
+        assertEquals(2, model.getServices().size());
+        assertThat(model.getServices(), Matchers.containsInAnyOrder(service1, service2));
+        verify(serviceObjects1, times(1)).getService();
+        verify(serviceObjects2, times(1)).getService();
+    }
+
+    private void activateLazyServiceInjector() {
+        OSGiServiceInjector injector = new OSGiServiceInjector();
+        injector.activateWithConfiguration(
+                bundleContext,
+                Converters.standardConverter()
+                        .convert(Collections.singletonMap("lazy.service.proxies.enabled", true))
+                        .to(OSGiServiceInjectorConfiguration.class));
+        factory.injectors = Collections.singletonList(injector);
+    }
 }
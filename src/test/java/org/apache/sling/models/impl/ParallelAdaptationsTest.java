@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.sling.models.factory.ModelClassException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelAdaptationsTest {
+
+    private final ParallelAdaptations underTest = new ParallelAdaptations(4);
+
+    @AfterEach
+    void tearDown() {
+        underTest.close();
+    }
+
+    @Test
+    void testOrderIsPreserved() {
+        Object[] values = new Object[100];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        Result<Object> result = underTest.adaptAll(values, value -> new Result<>("value" + value));
+
+        assertTrue(result.wasSuccessful());
+        List<?> adapted = (List<?>) result.getValue();
+        assertEquals(values.length, adapted.size());
+        for (int i = 0; i < values.length; i++) {
+            assertEquals("value" + i, adapted.get(i));
+        }
+    }
+
+    @Test
+    void testAdaptationsRunOnPoolThreads() {
+        ConcurrentHashMap<String, Boolean> threads = new ConcurrentHashMap<>();
+        Result<Object> result = underTest.adaptAll(new Object[] {1, 2, 3}, value -> {
+            threads.put(Thread.currentThread().getName(), Boolean.TRUE);
+            return new Result<>(value);
+        });
+
+        assertEquals(Arrays.asList(1, 2, 3), result.getValue());
+        assertTrue(threads.keySet().stream().allMatch(name -> name.startsWith("sling-models-adaptation-")));
+    }
+
+    @Test
+    void testFirstFailureIsReturned() {
+        Object[] values = new Object[] {1, 2, 3};
+        Result<Object> result = underTest.adaptAll(values, value -> {
+            if (value.equals(2)) {
+                return new Result<>(new ModelClassException("failed " + value));
+            }
+            return new Result<>(value);
+        });
+
+        assertFalse(result.wasSuccessful());
+        assertEquals("failed 2", result.getThrowable().getMessage());
+    }
+}
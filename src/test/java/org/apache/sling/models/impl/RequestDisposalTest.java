@@ -20,9 +20,12 @@ package org.apache.sling.models.impl;
 
 import javax.inject.Inject;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Type;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -32,6 +35,7 @@ import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletRequestEvent;
 import org.apache.sling.api.SlingJakartaHttpServletRequest;
 import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.api.wrappers.SlingJakartaHttpServletRequestWrapper;
 import org.apache.sling.models.annotations.Model;
 import org.apache.sling.models.spi.DisposalCallback;
@@ -52,12 +56,16 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class RequestDisposalTest {
     @Mock
     private Resource resource;
 
+    @Mock
+    private ResourceResolver resourceResolver;
+
     @Mock
     private SlingJakartaHttpServletRequest request;
 
@@ -162,6 +170,33 @@ class RequestDisposalTest {
         assertNoneDisposed();
     }
 
+    @Test
+    void testResolverCacheOnlyDisposesCachedModels() throws IOException {
+        factory = AdapterFactoryTest.createModelAdapterFactory(
+                Collections.singletonMap("resource.resolver.cache.enabled", true));
+        factory.injectors = Arrays.asList(new DisposedInjector());
+        factory.adapterImplementations.addClassesAsAdapterAndImplementation(
+                TestResourceModel.class, CachedTestResourceModel.class);
+        Map<String, Object> propertyMap = new HashMap<>();
+        when(resource.getResourceResolver()).thenReturn(resourceResolver);
+        when(resourceResolver.isLive()).thenReturn(true);
+        when(resourceResolver.getPropertyMap()).thenReturn(propertyMap);
+
+        TestResourceModel uncached = factory.getAdapter(resource, TestResourceModel.class);
+        Set<TestDisposalCallback> uncachedCallbacks = new HashSet<>(callbacks);
+        callbacks.clear();
+        CachedTestResourceModel cached = factory.getAdapter(resource, CachedTestResourceModel.class);
+        assertEquals("teststring", cached.testString);
+
+        // closing the resolver disposes the cached model only, the uncached one is left to the garbage collector
+        ((Closeable) propertyMap.values().iterator().next()).close();
+        assertAllDisposed();
+        for (TestDisposalCallback callback : uncachedCallbacks) {
+            assertFalse(callback.isDisposed());
+        }
+        assertEquals("teststring", uncached.testString);
+    }
+
     private void assertNoneDisposed() {
         for (TestDisposalCallback callback : callbacks) {
             assertFalse(callback.isDisposed());
@@ -181,6 +216,20 @@ class RequestDisposalTest {
         public String testString;
     }
 
+    @Model(adaptables = Resource.class)
+    public static class TestResourceModel {
+
+        @Inject
+        public String testString;
+    }
+
+    @Model(adaptables = Resource.class, cache = true)
+    public static class CachedTestResourceModel {
+
+        @Inject
+        public String testString;
+    }
+
     private class DisposedInjector implements Injector {
         @NotNull
         @Override
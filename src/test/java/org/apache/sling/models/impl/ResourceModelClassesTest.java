@@ -19,25 +19,34 @@
 package org.apache.sling.models.impl;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ValueMap;
 import org.apache.sling.api.wrappers.ValueMapDecorator;
 import org.apache.sling.models.factory.MissingElementsException;
+import org.apache.sling.models.factory.ModelClassException;
 import org.apache.sling.models.impl.injectors.ChildResourceInjector;
 import org.apache.sling.models.impl.injectors.ValueMapInjector;
 import org.apache.sling.models.spi.injectorspecific.InjectAnnotationProcessorFactory;
 import org.apache.sling.models.testmodels.classes.ArrayPrimitivesModel;
 import org.apache.sling.models.testmodels.classes.ArrayWrappersModel;
+import org.apache.sling.models.testmodels.classes.CachedStreamChildResourceModel;
 import org.apache.sling.models.testmodels.classes.ChildModel;
 import org.apache.sling.models.testmodels.classes.ChildResourceModel;
 import org.apache.sling.models.testmodels.classes.ChildValueMapModel;
 import org.apache.sling.models.testmodels.classes.CollectionDefaultsModel;
+import org.apache.sling.models.testmodels.classes.LazyChildResourceModel;
 import org.apache.sling.models.testmodels.classes.ListDefaultsModel;
 import org.apache.sling.models.testmodels.classes.ListModel;
 import org.apache.sling.models.testmodels.classes.ParentModel;
@@ -52,11 +61,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -70,7 +83,11 @@ class ResourceModelClassesTest {
 
     @BeforeEach
     void setup() {
-        factory = AdapterFactoryTest.createModelAdapterFactory();
+        factory = createFactory(Collections.emptyMap());
+    }
+
+    private static ModelAdapterFactory createFactory(Map<String, ?> configuration) {
+        ModelAdapterFactory factory = AdapterFactoryTest.createModelAdapterFactory(configuration);
         ValueMapInjector valueMapInjector = new ValueMapInjector();
         factory.injectors = Arrays.asList(new ChildResourceInjector(), valueMapInjector);
 
@@ -83,12 +100,15 @@ class ResourceModelClassesTest {
                 ChildValueMapModel.class,
                 ArrayPrimitivesModel.class,
                 ChildResourceModel.class,
+                LazyChildResourceModel.class,
+                CachedStreamChildResourceModel.class,
                 ResourceModelWithRequiredFieldOptionalStrategy.class,
                 ParentModel.class,
                 ChildModel.class,
                 ListModel.class,
                 ListDefaultsModel.class,
                 CollectionDefaultsModel.class);
+        return factory;
     }
 
     @Test
@@ -327,6 +347,47 @@ class ResourceModelClassesTest {
         assertEquals(0, model.getEmptyGrandChildren().size());
     }
 
+    @Test
+    void testLazyChildResources() {
+        Resource firstChild = mock(Resource.class);
+        Resource secondChild = mock(Resource.class);
+
+        Resource firstGrandChild = mock(Resource.class);
+        Resource secondGrandChild = mock(Resource.class);
+        when(firstChild.getChildren()).thenReturn(Arrays.asList(firstGrandChild, secondGrandChild));
+
+        Resource res = mock(Resource.class);
+        when(res.getChild("firstChild")).thenReturn(firstChild);
+        when(res.getChild("secondChild")).thenReturn(secondChild);
+
+        LazyChildResourceModel model = factory.getAdapter(res, LazyChildResourceModel.class);
+        assertNotNull(model);
+        // the children of the stream are not listed before the stream is consumed
+        verify(secondChild, never()).listChildren();
+
+        Iterator<Resource> iterator = model.getFirstGrandChildren().iterator();
+        assertEquals(firstGrandChild, iterator.next());
+        assertEquals(secondGrandChild, iterator.next());
+
+        when(secondChild.listChildren())
+                .thenReturn(Collections.singletonList(firstGrandChild).iterator());
+        assertEquals(
+                Collections.singletonList(firstGrandChild),
+                model.getSecondGrandChildren().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testStreamIsRejectedForCachedModel() {
+        Resource res = mock(Resource.class);
+        when(res.getChild("firstChild")).thenReturn(mock(Resource.class));
+
+        MissingElementsException e = assertThrows(
+                MissingElementsException.class, () -> factory.createModel(res, CachedStreamChildResourceModel.class));
+        assertInstanceOf(
+                ModelClassException.class,
+                e.getMissingElements().iterator().next().getCause());
+    }
+
     @Test
     void testChildValueMap() {
         ValueMap map = ValueMapDecorator.EMPTY;
@@ -392,6 +453,53 @@ class ResourceModelClassesTest {
         assertEquals(0, model.getEmptyGrandChildren().size());
     }
 
+    @Test
+    void testParallelAdaptationOfConfiguredModels() {
+        factory = createFactory(Map.of(
+                "parallel.adaptation.parallelism",
+                2,
+                "parallel.adaptation.model.patterns",
+                ParentModel.class.getName()));
+        try {
+            Set<String> threadNames = ConcurrentHashMap.newKeySet();
+            List<Resource> grandChildren = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                ValueMap properties = new ValueMapDecorator(Collections.singletonMap("property", "value" + i));
+                Resource grandChild = mock(Resource.class);
+                when(grandChild.adaptTo(ValueMap.class)).thenAnswer(invocation -> {
+                    threadNames.add(Thread.currentThread().getName());
+                    return properties;
+                });
+                grandChildren.add(grandChild);
+            }
+            Resource firstChild = mock(Resource.class);
+            when(firstChild.adaptTo(ValueMap.class))
+                    .thenReturn(new ValueMapDecorator(Collections.singletonMap("property", "first")));
+            Resource secondChild = mock(Resource.class);
+            when(secondChild.listChildren()).thenReturn(grandChildren.iterator());
+            Resource emptyChild = mock(Resource.class);
+            when(emptyChild.listChildren()).thenReturn(Collections.emptyIterator());
+            Resource res = mock(Resource.class);
+            when(res.getChild("firstChild")).thenReturn(firstChild);
+            when(res.getChild("secondChild")).thenReturn(secondChild);
+            when(res.getChild("emptyChild")).thenReturn(emptyChild);
+
+            ParentModel model = factory.getAdapter(res, ParentModel.class);
+            assertNotNull(model);
+
+            // the order of the elements is preserved
+            assertEquals(
+                    Arrays.asList("value0", "value1", "value2", "value3"),
+                    model.getGrandChildren().stream()
+                            .map(ChildModel::getProperty)
+                            .collect(Collectors.toList()));
+            assertFalse(threadNames.isEmpty());
+            assertTrue(threadNames.stream().allMatch(name -> name.startsWith("sling-models-adaptation-")));
+        } finally {
+            factory.deactivate();
+        }
+    }
+
     private class AdaptToChildModel implements Answer<ChildModel> {
 
         @Override
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChange.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.util.converter.Converters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceResolutionCacheTest {
+
+    @Mock
+    private ResourceResolver resolver;
+
+    @Mock
+    private Resource resource;
+
+    private final Map<String, Object> propertyMap = new HashMap<>();
+
+    private ResourceResolutionCache underTest;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(resolver.isLive()).thenReturn(true);
+        lenient().when(resolver.getPropertyMap()).thenReturn(propertyMap);
+        underTest = createCache(Map.of());
+    }
+
+    private static ResourceResolutionCache createCache(Map<String, Object> config) {
+        ResourceResolutionCache cache = new ResourceResolutionCache();
+        cache.activate(Converters.standardConverter().convert(config).to(ResourceResolutionCacheConfiguration.class));
+        return cache;
+    }
+
+    @Test
+    void testResourcesAreResolvedOnce() {
+        underTest = createCache(Map.of("negative.caching.enabled", true));
+        when(resolver.getResource("/conf/a")).thenReturn(resource);
+
+        assertSame(resource, underTest.getResource(resolver, "/conf/a"));
+        assertSame(resource, underTest.getResource(resolver, "/conf/a"));
+        assertNull(underTest.getResource(resolver, "/conf/missing"));
+        assertNull(underTest.getResource(resolver, "/conf/missing"));
+
+        verify(resolver, times(1)).getResource("/conf/a");
+        verify(resolver, times(1)).getResource("/conf/missing");
+    }
+
+    @Test
+    void testNegativeCachingDisabledByDefault() {
+        assertNull(underTest.getResource(resolver, "/conf/missing"));
+        assertNull(underTest.getResource(resolver, "/conf/missing"));
+
+        verify(resolver, times(2)).getResource("/conf/missing");
+    }
+
+    @Test
+    void testPendingChangesBypassAndInvalidateCache() {
+        when(resolver.getResource("/conf/a")).thenReturn(resource);
+        underTest.getResource(resolver, "/conf/a");
+
+        when(resolver.hasChanges()).thenReturn(true);
+        underTest.getResource(resolver, "/conf/a");
+        when(resolver.hasChanges()).thenReturn(false);
+        underTest.getResource(resolver, "/conf/a");
+
+        verify(resolver, times(3)).getResource("/conf/a");
+    }
+
+    @Test
+    void testPersistedChangesInvalidateCache() {
+        underTest = createCache(Map.of("negative.caching.enabled", true));
+        assertNull(underTest.getResource(resolver, "/conf/a"));
+
+        // the resource is created and committed between two lookups
+        underTest.onChange(List.of(new ResourceChange(ChangeType.ADDED, "/conf/a", false)));
+        when(resolver.getResource("/conf/a")).thenReturn(resource);
+        assertSame(resource, underTest.getResource(resolver, "/conf/a"));
+        assertSame(resource, underTest.getResource(resolver, "/conf/a"));
+
+        verify(resolver, times(2)).getResource("/conf/a");
+    }
+
+    @Test
+    void testChildren() {
+        Resource child = mock(Resource.class);
+        when(resource.getResourceResolver()).thenReturn(resolver);
+        when(resource.getPath()).thenReturn("/content/page");
+        when(resource.getChild("jcr:content")).thenReturn(child);
+
+        assertSame(child, underTest.getChild(resource, "jcr:content"));
+        assertSame(child, underTest.getChild(resource, "jcr:content"));
+
+        verify(resource, times(1)).getChild("jcr:content");
+    }
+
+    @Test
+    void testChildOfRoot() {
+        Resource child = mock(Resource.class);
+        when(resource.getResourceResolver()).thenReturn(resolver);
+        when(resource.getPath()).thenReturn("/");
+        when(resource.getChild("content")).thenReturn(child);
+
+        assertSame(child, underTest.getChild(resource, "content"));
+        assertSame(child, underTest.getChild(resource, "content"));
+
+        verify(resource, times(1)).getChild("content");
+        Map<?, ?> entries = (Map<?, ?>) propertyMap.values().iterator().next();
+        assertEquals(Set.of("child:/content"), entries.keySet());
+    }
+
+    @Test
+    void testChildrenAndResourcesAreCachedSeparately() {
+        Resource child = mock(Resource.class);
+        Resource resolved = mock(Resource.class);
+        when(resource.getResourceResolver()).thenReturn(resolver);
+        when(resource.getPath()).thenReturn("/content/page");
+        when(resource.getChild("jcr:content")).thenReturn(child);
+        when(resolver.getResource("/content/page/jcr:content")).thenReturn(resolved);
+
+        assertSame(child, underTest.getChild(resource, "jcr:content"));
+        assertSame(resolved, underTest.getResource(resolver, "/content/page/jcr:content"));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.models.spi.DisposalCallback;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceResolverModelCacheTest {
+
+    @Mock
+    private Resource resource;
+
+    @Mock
+    private ResourceResolver resourceResolver;
+
+    @Mock
+    private DisposalCallback callback;
+
+    @Test
+    void testNoResolver() {
+        assertNull(ResourceResolverModelCache.get(new Object()));
+        assertNull(ResourceResolverModelCache.get(resource));
+    }
+
+    @Test
+    void testCloseCallsDisposalCallbacks() {
+        Map<String, Object> propertyMap = new HashMap<>();
+        when(resource.getResourceResolver()).thenReturn(resourceResolver);
+        when(resourceResolver.isLive()).thenReturn(true);
+        when(resourceResolver.getPropertyMap()).thenReturn(propertyMap);
+
+        ResourceResolverModelCache cache = ResourceResolverModelCache.get(resource);
+        assertSame(cache, ResourceResolverModelCache.get(resource));
+        assertSame(cache, propertyMap.values().iterator().next());
+
+        DisposalCallbackRegistryImpl registry = new DisposalCallbackRegistryImpl();
+        registry.addDisposalCallback(callback);
+        registry.seal();
+        assertTrue(cache.addDisposalCallbackRegistry(registry));
+
+        cache.close();
+        cache.close();
+        verify(callback, times(1)).onDisposed();
+
+        // a closed cache neither accepts registries nor is handed out again
+        assertFalse(cache.addDisposalCallbackRegistry(registry));
+        assertNotSame(cache, ResourceResolverModelCache.get(resource));
+    }
+}
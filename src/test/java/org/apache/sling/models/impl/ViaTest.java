@@ -29,6 +29,7 @@ import org.apache.sling.models.impl.injectors.ValueMapInjector;
 import org.apache.sling.models.impl.via.BeanPropertyViaProvider;
 import org.apache.sling.models.impl.via.ChildResourceViaProvider;
 import org.apache.sling.models.testmodels.classes.ChildResourceViaModel;
+import org.apache.sling.models.testmodels.classes.SharedChildResourceViaModel;
 import org.apache.sling.models.testmodels.classes.ViaModel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,6 +40,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -65,6 +68,7 @@ class ViaTest {
         factory.bindViaProvider(new ChildResourceViaProvider(), null);
         factory.adapterImplementations.addClassesAsAdapterAndImplementation(ViaModel.class);
         factory.adapterImplementations.addClassesAsAdapterAndImplementation(ChildResourceViaModel.class);
+        factory.adapterImplementations.addClassesAsAdapterAndImplementation(SharedChildResourceViaModel.class);
     }
 
     @Test
@@ -87,4 +91,17 @@ class ViaTest {
         assertNotNull(model);
         assertEquals(value, model.getFirstProperty());
     }
+
+    @Test
+    void testProjectionToSharedChildResource() {
+        String value = RandomStringUtils.secure().nextAlphanumeric(10);
+        ValueMap map = new ValueMapDecorator(Collections.<String, Object>singletonMap("firstProperty", value));
+        when(childResource.adaptTo(ValueMap.class)).thenReturn(map);
+        SharedChildResourceViaModel model = factory.getAdapter(resource, SharedChildResourceViaModel.class);
+        assertNotNull(model);
+        assertEquals(value, model.getFirstProperty());
+
+        // the child resource is looked up once per model creation
+        verify(resource, times(1)).getChild("jcr:content");
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl.index;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.sling.models.impl.index.ModelIndex.Entry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelIndexTest {
+
+    @Test
+    void testWriteAndRead() throws IOException {
+        Entry entry = new Entry("com.example.models.MyModel");
+        Entry otherEntry = new Entry("com.example.models.Other");
+        StringWriter writer = new StringWriter();
+        ModelIndex.write(Arrays.asList(entry, otherEntry), writer);
+
+        List<Entry> entries = ModelIndex.read(new StringReader(writer.toString()));
+
+        assertEquals(Arrays.asList(entry, otherEntry), entries);
+        assertTrue(entry.isInPackage("com.example"));
+        assertTrue(entry.isInPackage("com.example.models"));
+        assertFalse(entry.isInPackage("com.example.model"));
+    }
+
+    @Test
+    void testCommentsAndEmptyLinesAreIgnored() throws IOException {
+        List<Entry> entries = ModelIndex.read(new StringReader("# comment\ncom.example.models.MyModel\n\n"));
+
+        assertEquals(Collections.singletonList(new Entry("com.example.models.MyModel")), entries);
+    }
+}
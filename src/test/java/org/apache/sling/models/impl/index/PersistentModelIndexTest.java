@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl.index;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.sling.models.impl.index.ModelIndex.Entry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.Version;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PersistentModelIndexTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private Bundle bundle;
+
+    @Test
+    void testWriteAndReadPerRevision() throws IOException {
+        when(bundle.getSymbolicName()).thenReturn("com.example/models");
+        when(bundle.getVersion()).thenReturn(new Version(1, 0, 0));
+        when(bundle.getLastModified()).thenReturn(1000L);
+        PersistentModelIndex underTest =
+                new PersistentModelIndex(directory.resolve("index").toFile());
+        assertNull(underTest.read(bundle));
+
+        Entry entry = new Entry("com.example.models.MyModel");
+        underTest.write(bundle, Collections.singletonList(entry));
+        assertEquals(Collections.singletonList(entry), underTest.read(bundle));
+
+        // an updated bundle invalidates the entry, writing it removes the outdated entry
+        when(bundle.getLastModified()).thenReturn(2000L);
+        assertNull(underTest.read(bundle));
+        underTest.write(bundle, Collections.emptyList());
+        assertEquals(Collections.emptyList(), underTest.read(bundle));
+        try (Stream<Path> files = Files.list(directory.resolve("index"))) {
+            List<Path> remaining = files.toList();
+            assertEquals(1, remaining.size());
+        }
+    }
+
+    @Test
+    void testBundlesWithSameSymbolicNameAreKeptApart() {
+        Bundle otherBundle = mock(Bundle.class);
+        when(bundle.getSymbolicName()).thenReturn("com.example.models");
+        when(bundle.getVersion()).thenReturn(new Version(1, 0, 0));
+        when(bundle.getBundleId()).thenReturn(1L);
+        when(otherBundle.getSymbolicName()).thenReturn("com.example.models");
+        when(otherBundle.getVersion()).thenReturn(new Version(2, 0, 0));
+        when(otherBundle.getBundleId()).thenReturn(2L);
+        PersistentModelIndex underTest = new PersistentModelIndex(directory.toFile());
+
+        Entry entry = new Entry("com.example.models.MyModel");
+        Entry otherEntry = new Entry("com.example.models.Other");
+        underTest.write(bundle, Collections.singletonList(entry));
+        underTest.write(otherBundle, Collections.singletonList(otherEntry));
+
+        assertEquals(Collections.singletonList(entry), underTest.read(bundle));
+        assertEquals(Collections.singletonList(otherEntry), underTest.read(otherBundle));
+    }
+}
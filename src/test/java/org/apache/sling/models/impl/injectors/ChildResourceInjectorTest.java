@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl.injectors;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ValueMap;
+import org.apache.sling.api.wrappers.ValueMapDecorator;
+import org.apache.sling.models.spi.DisposalCallbackRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.util.converter.Converters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChildResourceInjectorTest {
+
+    private final ChildResourceInjector injector = new ChildResourceInjector();
+
+    @Mock
+    private DisposalCallbackRegistry registry;
+
+    @Mock
+    private Resource resource;
+
+    @Mock
+    private Resource items;
+
+    static class ItemsModel {
+        List<Resource> items;
+    }
+
+    static class VisibleItemsModel {
+        Stream<Resource> items;
+    }
+
+    @Test
+    void testFilteredChildResources() throws Exception {
+        Resource first = mockItem("app/item");
+        Resource second = mockItem("app/item");
+        Resource other = mockItem("app/other");
+        Resource third = mockItem("app/item");
+        Resource fourth = mockItem("app/item");
+        List<Resource> children = Arrays.asList(first, second, other, third, fourth);
+        when(items.listChildren()).thenAnswer(invocation -> children.iterator());
+        when(resource.getChild("items")).thenReturn(items);
+        when(resource.adaptTo(ValueMap.class))
+                .thenReturn(new ValueMapDecorator(Collections.singletonMap("maxItems", 2)));
+
+        Map<String, Object> itemsFilter = new HashMap<>();
+        itemsFilter.put("model.class", ItemsModel.class.getName());
+        itemsFilter.put("child.name", "items");
+        itemsFilter.put("offset", 1);
+        itemsFilter.put("limit", 5);
+        itemsFilter.put("limit.property", "maxItems");
+        itemsFilter.put("resource.types", new String[] {"app/item"});
+        injector.bindChildResourceFilter(createFilter(itemsFilter));
+        Map<String, Object> visibleItemsFilter = new HashMap<>();
+        visibleItemsFilter.put("model.class", VisibleItemsModel.class.getName());
+        visibleItemsFilter.put("child.name", "items");
+        visibleItemsFilter.put("predicate", "visible");
+        injector.bindChildResourceFilter(createFilter(visibleItemsFilter));
+
+        Field itemsField = ItemsModel.class.getDeclaredField("items");
+        assertEquals(
+                Arrays.asList(second, third),
+                injector.getValue(resource, "items", itemsField.getGenericType(), itemsField, registry));
+
+        // without predicate service the stream is not injected
+        Field visibleItemsField = VisibleItemsModel.class.getDeclaredField("items");
+        assertNull(
+                injector.getValue(resource, "items", visibleItemsField.getGenericType(), visibleItemsField, registry));
+
+        Predicate<Resource> visible = child -> child != second;
+        injector.bindChildResourcePredicate(
+                visible, Collections.singletonMap(ChildResourceInjector.PREDICATE_NAME, "visible"));
+        Stream<?> visibleItems = (Stream<?>)
+                injector.getValue(resource, "items", visibleItemsField.getGenericType(), visibleItemsField, registry);
+        assertEquals(Arrays.asList(first, other, third, fourth), visibleItems.collect(Collectors.toList()));
+    }
+
+    @Test
+    void testChildResourcesWithoutFilter() throws Exception {
+        Resource child = mock(Resource.class);
+        when(items.listChildren()).thenAnswer(invocation -> List.of(child).iterator());
+        when(resource.getChild("items")).thenReturn(items);
+
+        Field itemsField = ItemsModel.class.getDeclaredField("items");
+        assertEquals(
+                List.of(child),
+                injector.getValue(resource, "items", itemsField.getGenericType(), itemsField, registry));
+    }
+
+    private static ChildResourceFilter createFilter(Map<String, Object> properties) {
+        ChildResourceFilter filter = new ChildResourceFilter();
+        filter.activate(Converters.standardConverter().convert(properties).to(ChildResourceFilterConfiguration.class));
+        return filter;
+    }
+
+    private static Resource mockItem(String resourceType) {
+        Resource item = mock(Resource.class);
+        lenient().when(item.isResourceType(resourceType)).thenReturn(true);
+        return item;
+    }
+}
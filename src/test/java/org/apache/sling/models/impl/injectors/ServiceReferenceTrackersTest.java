@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sling.models.impl.injectors;
+
+import java.util.Arrays;
+import java.util.Hashtable;
+import java.util.Map;
+
+import org.apache.sling.testing.mock.osgi.MockOsgi;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
+import org.osgi.framework.ServiceRegistration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ServiceReferenceTrackersTest {
+
+    private BundleContext bundleContext;
+
+    private ServiceReferenceTrackers trackers;
+
+    @BeforeEach
+    void setUp() {
+        bundleContext = MockOsgi.newBundleContext();
+        trackers = new ServiceReferenceTrackers(bundleContext);
+    }
+
+    @AfterEach
+    void tearDown() {
+        trackers.close();
+        MockOsgi.shutdown(bundleContext);
+    }
+
+    @Test
+    void testReferencesAreSortedAndUpdated() throws InvalidSyntaxException {
+        register(10, "a");
+        ServiceRegistration<Runnable> registration = register(20, "a");
+
+        assertArrayEquals(new Object[] {20, 10}, getRankings(null));
+
+        register(30, "b");
+        assertArrayEquals(new Object[] {30, 20, 10}, getRankings(null));
+
+        registration.unregister();
+        assertArrayEquals(new Object[] {30, 10}, getRankings(null));
+    }
+
+    @Test
+    void testFilter() throws InvalidSyntaxException {
+        register(10, "a");
+        register(20, "b");
+        register(30, "b");
+
+        assertArrayEquals(new Object[] {30, 20}, getRankings("(prop=b)"));
+    }
+
+    @Test
+    void testInvalidFilter() {
+        assertThrows(
+                InvalidSyntaxException.class,
+                () -> trackers.getSortedReferences(bundleContext, Runnable.class.getName(), "(prop=b"));
+    }
+
+    @Test
+    void testNoTrackerForStoppingBundle() throws InvalidSyntaxException {
+        Bundle bundle = mock(Bundle.class);
+        when(bundle.getState()).thenReturn(Bundle.STOPPING);
+        BundleContext modelContext = mock(BundleContext.class);
+        when(modelContext.getBundle()).thenReturn(bundle);
+        ServiceReference<?> reference = mock(ServiceReference.class);
+        when(modelContext.getServiceReferences(Runnable.class.getName(), null))
+                .thenReturn(new ServiceReference<?>[] {reference});
+
+        assertArrayEquals(
+                new Object[] {reference}, trackers.getSortedReferences(modelContext, Runnable.class.getName(), null));
+        verify(modelContext, never()).createFilter(anyString());
+    }
+
+    private Object[] getRankings(String filter) throws InvalidSyntaxException {
+        return Arrays.stream(trackers.getSortedReferences(bundleContext, Runnable.class.getName(), filter))
+                .map(ref -> ref.getProperty(Constants.SERVICE_RANKING))
+                .toArray();
+    }
+
+    private ServiceRegistration<Runnable> register(int ranking, String prop) {
+        return bundleContext.registerService(
+                Runnable.class, () -> {}, new Hashtable<>(Map.of(Constants.SERVICE_RANKING, ranking, "prop", prop)));
+    }
+}
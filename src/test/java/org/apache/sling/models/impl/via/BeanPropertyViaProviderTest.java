@@ -18,20 +18,35 @@
  */
 package org.apache.sling.models.impl.via;
 
+import org.apache.sling.api.SlingJakartaHttpServletRequest;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.models.annotations.via.BeanProperty;
 import org.apache.sling.models.spi.ViaProvider;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class BeanPropertyViaProviderTest {
 
     private BeanPropertyViaProvider provider = new BeanPropertyViaProvider();
 
+    @Mock
+    private SlingJakartaHttpServletRequest request;
+
+    @Mock
+    private Resource resource;
+
+    @Mock
+    private ResourceResolver resourceResolver;
+
     /**
      * Test method for {@link org.apache.sling.models.impl.via.BeanPropertyViaProvider#getType()}.
      */
@@ -61,6 +76,19 @@ class BeanPropertyViaProviderTest {
         // bean nested property found
         testBean = new TestBean("value1", new TestNestedBean());
         assertEquals("nestedValue1", provider.getAdaptable(testBean, "nested1.nestedField1"));
+        assertEquals("nestedValue1", provider.getAdaptable(testBean, "nested1.nestedField1"));
+
+        // intermediate property null
+        assertNull(provider.getAdaptable(new TestBean("value1", null), "nested1.nestedField1"));
+    }
+
+    @Test
+    void testGetAdaptableFromRequest() {
+        when(request.getResource()).thenReturn(resource);
+        when(resource.getResourceResolver()).thenReturn(resourceResolver);
+
+        assertSame(resource, provider.getAdaptable(request, "resource"));
+        assertSame(resourceResolver, provider.getAdaptable(request, "resource.resourceResolver"));
     }
 
     private static class TestNestedBean {